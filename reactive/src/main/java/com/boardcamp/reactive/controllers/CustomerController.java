@@ -0,0 +1,31 @@
+package com.boardcamp.reactive.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.boardcamp.reactive.models.Customer;
+import com.boardcamp.reactive.services.CustomerService;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/customers")
+public class CustomerController {
+
+    private final CustomerService customerService;
+
+    CustomerController(CustomerService customerService){
+        this.customerService = customerService;
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Customer>> getCustomer(@PathVariable Long id){
+        return this.customerService.getCustomerById(id)
+            .map(customer -> ResponseEntity.status(HttpStatus.OK).body(customer));
+    }
+
+}
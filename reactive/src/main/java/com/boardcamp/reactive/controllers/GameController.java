@@ -0,0 +1,33 @@
+package com.boardcamp.reactive.controllers;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.boardcamp.reactive.models.Game;
+import com.boardcamp.reactive.services.GameService;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/games")
+public class GameController {
+
+    private final GameService gameService;
+
+    GameController(GameService gameService){
+        this.gameService = gameService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<Game>>> getGames(@RequestParam(required = false) String after, @RequestParam(defaultValue = "100") int limit){
+        return this.gameService.getGames(after, limit)
+            .map(games -> ResponseEntity.status(HttpStatus.OK).headers(games.headers()).body(games.items()));
+    }
+
+}
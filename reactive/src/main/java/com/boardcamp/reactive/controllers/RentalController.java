@@ -0,0 +1,33 @@
+package com.boardcamp.reactive.controllers;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.boardcamp.reactive.models.RentalView;
+import com.boardcamp.reactive.services.RentalService;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/rentals")
+public class RentalController {
+
+    private final RentalService rentalService;
+
+    RentalController(RentalService rentalService){
+        this.rentalService = rentalService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<RentalView>>> getRentals(@RequestParam(required = false) String after, @RequestParam(defaultValue = "100") int limit){
+        return this.rentalService.getRentals(after, limit)
+            .map(rentals -> ResponseEntity.status(HttpStatus.OK).headers(rentals.headers()).body(rentals.items()));
+    }
+
+}
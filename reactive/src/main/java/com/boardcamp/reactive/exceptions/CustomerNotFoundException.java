@@ -0,0 +1,7 @@
+package com.boardcamp.reactive.exceptions;
+
+public class CustomerNotFoundException extends RuntimeException {
+    public CustomerNotFoundException(){
+        super("There is no customer with the informed id");
+    }
+}
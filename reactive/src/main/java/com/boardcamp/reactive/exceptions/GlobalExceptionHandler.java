@@ -0,0 +1,26 @@
+package com.boardcamp.reactive.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@ControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler({ CustomerNotFoundException.class })
+    public ResponseEntity<String> handleCustomerNotFound(CustomerNotFoundException exception){
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(exception.getMessage());
+    }
+
+    @ExceptionHandler({ InvalidCursorException.class })
+    public ResponseEntity<String> handleInvalidCursor(InvalidCursorException exception){
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+    }
+
+    @ExceptionHandler({ InvalidLimitException.class })
+    public ResponseEntity<String> handleInvalidLimit(InvalidLimitException exception){
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.boardcamp.reactive.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(){
+        super("The informed cursor is invalid");
+    }
+}
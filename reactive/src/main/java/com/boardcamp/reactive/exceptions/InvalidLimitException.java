@@ -0,0 +1,7 @@
+package com.boardcamp.reactive.exceptions;
+
+public class InvalidLimitException extends RuntimeException {
+    public InvalidLimitException(){
+        super("Limit should be between 1 and 1000");
+    }
+}
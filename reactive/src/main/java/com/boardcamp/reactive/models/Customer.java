@@ -0,0 +1,4 @@
+package com.boardcamp.reactive.models;
+
+public record Customer(Long id, String name, String cpf) {
+}
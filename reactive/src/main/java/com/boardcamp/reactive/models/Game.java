@@ -0,0 +1,4 @@
+package com.boardcamp.reactive.models;
+
+public record Game(Long id, String name, String image, Long stockTotal, Long pricePerDay, Long unitsAvailable) {
+}
@@ -0,0 +1,14 @@
+package com.boardcamp.reactive.models;
+
+import java.time.LocalDate;
+
+public record RentalView(Long id, LocalDate rentDate, Long daysRented, LocalDate returnDate, Long originalPrice, Long delayFee,
+        CustomerView customer, GameView game) {
+
+    public record CustomerView(Long id, String name, String cpf) {
+    }
+
+    public record GameView(Long id, String name, String image, Long stockTotal, Long pricePerDay) {
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.boardcamp.reactive.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.boardcamp.reactive.exceptions.InvalidCursorException;
+import com.boardcamp.reactive.exceptions.InvalidLimitException;
+
+// same encoding as the servlet API, so a cursor from either stack is valid on the other
+public final class Cursor {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private Cursor(){
+    }
+
+    public static String encode(long id){
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decodeId(String cursor){
+        if (cursor == null || cursor.isEmpty())
+            return 0L;
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public static void checkLimit(int limit){
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new InvalidLimitException();
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.boardcamp.reactive.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.http.HttpHeaders;
+
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // rows must come from a query limited to limit + 1: the extra row only signals a next page
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf){
+        if (rows.size() <= limit)
+            return new CursorPage<>(rows, null);
+
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    public HttpHeaders headers(){
+        HttpHeaders headers = new HttpHeaders();
+        if (this.nextCursor != null)
+            headers.set(NEXT_CURSOR_HEADER, this.nextCursor);
+        return headers;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.boardcamp.reactive.repositories;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.boardcamp.reactive.models.Customer;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Mono;
+
+@Repository
+public class CustomerRepository {
+
+    private final DatabaseClient databaseClient;
+
+    CustomerRepository(DatabaseClient databaseClient){
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Customer> findById(long id){
+        return this.databaseClient
+            .sql("SELECT id, name, cpf FROM customers WHERE id = :id")
+            .bind("id", id)
+            .map(CustomerRepository::toCustomer)
+            .one();
+    }
+
+    private static Customer toCustomer(Readable row){
+        return new Customer(row.get("id", Long.class), row.get("name", String.class), row.get("cpf", String.class));
+    }
+
+}
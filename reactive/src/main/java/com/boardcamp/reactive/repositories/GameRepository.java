@@ -0,0 +1,34 @@
+package com.boardcamp.reactive.repositories;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.boardcamp.reactive.models.Game;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+
+@Repository
+public class GameRepository {
+
+    private final DatabaseClient databaseClient;
+
+    GameRepository(DatabaseClient databaseClient){
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Game> findByIdGreaterThan(long after, int limit){
+        return this.databaseClient
+            .sql("SELECT id, name, image, stock_total, price_per_day, units_available FROM games WHERE id > :after ORDER BY id LIMIT :limit")
+            .bind("after", after)
+            .bind("limit", limit)
+            .map(GameRepository::toGame)
+            .all();
+    }
+
+    private static Game toGame(Readable row){
+        return new Game(row.get("id", Long.class), row.get("name", String.class), row.get("image", String.class),
+            row.get("stock_total", Long.class), row.get("price_per_day", Long.class), row.get("units_available", Long.class));
+    }
+
+}
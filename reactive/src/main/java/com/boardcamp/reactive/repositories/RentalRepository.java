@@ -0,0 +1,55 @@
+package com.boardcamp.reactive.repositories;
+
+import java.time.LocalDate;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.boardcamp.reactive.models.RentalView;
+import com.boardcamp.reactive.models.RentalView.CustomerView;
+import com.boardcamp.reactive.models.RentalView.GameView;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+
+@Repository
+public class RentalRepository {
+
+    private static final String FIND_VIEWS_AFTER = """
+        SELECT r.id, r.rent_date, r.days_rented, r.return_date, r.original_price, r.delay_fee,
+               c.id AS customer_id, c.name AS customer_name, c.cpf AS customer_cpf,
+               g.id AS game_id, g.name AS game_name, g.image AS game_image, g.stock_total AS game_stock_total, g.price_per_day AS game_price_per_day
+        FROM rentals r
+        JOIN customers c ON c.id = r.customer_id
+        JOIN games g ON g.id = r.game_id
+        WHERE r.id > :after
+        ORDER BY r.id
+        LIMIT :limit
+        """;
+
+    private final DatabaseClient databaseClient;
+
+    RentalRepository(DatabaseClient databaseClient){
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<RentalView> findViewsAfter(long after, int limit){
+        return this.databaseClient
+            .sql(FIND_VIEWS_AFTER)
+            .bind("after", after)
+            .bind("limit", limit)
+            .map(RentalRepository::toRentalView)
+            .all();
+    }
+
+    private static RentalView toRentalView(Readable row){
+        CustomerView customer = new CustomerView(row.get("customer_id", Long.class), row.get("customer_name", String.class),
+            row.get("customer_cpf", String.class));
+        GameView game = new GameView(row.get("game_id", Long.class), row.get("game_name", String.class), row.get("game_image", String.class),
+            row.get("game_stock_total", Long.class), row.get("game_price_per_day", Long.class));
+        return new RentalView(row.get("id", Long.class), row.get("rent_date", LocalDate.class), row.get("days_rented", Long.class),
+            row.get("return_date", LocalDate.class), row.get("original_price", Long.class), row.get("delay_fee", Long.class),
+            customer, game);
+    }
+
+}
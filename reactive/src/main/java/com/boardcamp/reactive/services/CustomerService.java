@@ -0,0 +1,25 @@
+package com.boardcamp.reactive.services;
+
+import org.springframework.stereotype.Service;
+
+import com.boardcamp.reactive.exceptions.CustomerNotFoundException;
+import com.boardcamp.reactive.models.Customer;
+import com.boardcamp.reactive.repositories.CustomerRepository;
+
+import reactor.core.publisher.Mono;
+
+@Service
+public class CustomerService {
+
+    private final CustomerRepository customerRepository;
+
+    CustomerService(CustomerRepository customerRepository){
+        this.customerRepository = customerRepository;
+    }
+
+    public Mono<Customer> getCustomerById(Long id){
+        return this.customerRepository.findById(id)
+            .switchIfEmpty(Mono.error(CustomerNotFoundException::new));
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.boardcamp.reactive.services;
+
+import org.springframework.stereotype.Service;
+
+import com.boardcamp.reactive.models.Game;
+import com.boardcamp.reactive.pagination.Cursor;
+import com.boardcamp.reactive.pagination.CursorPage;
+import com.boardcamp.reactive.repositories.GameRepository;
+
+import reactor.core.publisher.Mono;
+
+@Service
+public class GameService {
+
+    private final GameRepository gameRepository;
+
+    GameService(GameRepository gameRepository){
+        this.gameRepository = gameRepository;
+    }
+
+    public Mono<CursorPage<Game>> getGames(String after, int limit){
+        return Mono.defer(() -> {
+            Cursor.checkLimit(limit);
+            return this.gameRepository.findByIdGreaterThan(Cursor.decodeId(after), limit + 1)
+                .collectList()
+                .map(games -> CursorPage.of(games, limit, game -> Cursor.encode(game.id())));
+        });
+    }
+
+}
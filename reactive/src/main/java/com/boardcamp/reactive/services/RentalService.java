@@ -0,0 +1,30 @@
+package com.boardcamp.reactive.services;
+
+import org.springframework.stereotype.Service;
+
+import com.boardcamp.reactive.models.RentalView;
+import com.boardcamp.reactive.pagination.Cursor;
+import com.boardcamp.reactive.pagination.CursorPage;
+import com.boardcamp.reactive.repositories.RentalRepository;
+
+import reactor.core.publisher.Mono;
+
+@Service
+public class RentalService {
+
+    private final RentalRepository rentalRepository;
+
+    RentalService(RentalRepository rentalRepository){
+        this.rentalRepository = rentalRepository;
+    }
+
+    public Mono<CursorPage<RentalView>> getRentals(String after, int limit){
+        return Mono.defer(() -> {
+            Cursor.checkLimit(limit);
+            return this.rentalRepository.findViewsAfter(Cursor.decodeId(after), limit + 1)
+                .collectList()
+                .map(rentals -> CursorPage.of(rentals, limit, rental -> Cursor.encode(rental.id())));
+        });
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.boardcamp.reactive;
+
+import static org.mockito.Mockito.doReturn;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.boardcamp.reactive.exceptions.CustomerNotFoundException;
+import com.boardcamp.reactive.models.Customer;
+import com.boardcamp.reactive.repositories.CustomerRepository;
+import com.boardcamp.reactive.services.CustomerService;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerUnitTests {
+
+	@InjectMocks
+	private CustomerService customerService;
+
+	@Mock
+	private CustomerRepository customerRepository;
+
+	@Test
+	void givenExistingCustomer_whenGettingCustomer_thenCustomerIsReturned(){
+
+		//given
+		Customer customer = new Customer(1L, "John Doe", "12345678901");
+		doReturn(Mono.just(customer)).when(customerRepository).findById(1L);
+
+		//when
+		//then
+		StepVerifier.create(customerService.getCustomerById(1L))
+			.expectNext(customer)
+			.verifyComplete();
+	}
+
+	@Test
+	void givenMissingCustomer_whenGettingCustomer_thenNotFoundIsSignalled(){
+
+		//given
+		doReturn(Mono.empty()).when(customerRepository).findById(1L);
+
+		//when
+		//then
+		StepVerifier.create(customerService.getCustomerById(1L))
+			.expectError(CustomerNotFoundException.class)
+			.verify();
+	}
+
+}
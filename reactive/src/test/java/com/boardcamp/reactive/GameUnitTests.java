@@ -0,0 +1,84 @@
+package com.boardcamp.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.boardcamp.reactive.exceptions.InvalidLimitException;
+import com.boardcamp.reactive.models.Game;
+import com.boardcamp.reactive.pagination.Cursor;
+import com.boardcamp.reactive.repositories.GameRepository;
+import com.boardcamp.reactive.services.GameService;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class GameUnitTests {
+
+	@InjectMocks
+	private GameService gameService;
+
+	@Mock
+	private GameRepository gameRepository;
+
+	Game createGame(long id){
+		return new Game(id, "Game " + id, "http://image", 3L, 1500L, 3L);
+	}
+
+	@Test
+	void givenMoreGamesThanLimit_whenGettingGames_thenNextCursorPointsToLastGame(){
+
+		//given
+		doReturn(Flux.just(createGame(1L), createGame(2L), createGame(3L))).when(gameRepository).findByIdGreaterThan(0L, 3);
+
+		//when
+		//then
+		StepVerifier.create(gameService.getGames(null, 2))
+			.assertNext(page -> {
+				assertEquals(List.of(createGame(1L), createGame(2L)), page.items());
+				assertEquals(Cursor.encode(2L), page.nextCursor());
+			})
+			.verifyComplete();
+	}
+
+	@Test
+	void givenLastPage_whenGettingGames_thenThereIsNoNextCursor(){
+
+		//given
+		doReturn(Flux.just(createGame(3L))).when(gameRepository).findByIdGreaterThan(2L, 3);
+
+		//when
+		//then
+		StepVerifier.create(gameService.getGames(Cursor.encode(2L), 2))
+			.assertNext(page -> {
+				assertEquals(1, page.items().size());
+				assertNull(page.nextCursor());
+			})
+			.verifyComplete();
+	}
+
+	@Test
+	void givenInvalidLimit_whenGettingGames_thenErrorIsSignalled(){
+
+		//given
+		int limit = 0;
+
+		//when
+		//then
+		StepVerifier.create(gameService.getGames(null, limit))
+			.expectError(InvalidLimitException.class)
+			.verify();
+		verifyNoInteractions(gameRepository);
+	}
+
+}
@@ -0,0 +1,136 @@
+package com.boardcamp.reactive.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Keeps a fixed number of connections busy against one read endpoint of an already running server and reports
+ * throughput, latency percentiles and, when the server pid is given, resident memory per open connection.
+ * Run it once against the servlet API and once against this one to compare them:
+ *
+ * mvn -Pbenchmark test-compile exec:java -Dbenchmark.url=http://localhost:8081/games -Dbenchmark.pid=1234 -Dbenchmark.connections=10000
+ */
+public class ConnectionScalingBenchmark {
+
+    static final class Connection {
+
+        private final HttpClient client;
+        private final HttpRequest request;
+        private final long deadline;
+        private final AtomicLong errors;
+        private long[] latencies = new long[256];
+        private int count;
+
+        Connection(HttpClient client, HttpRequest request, long deadline, AtomicLong errors){
+            this.client = client;
+            this.request = request;
+            this.deadline = deadline;
+            this.errors = errors;
+        }
+
+        // requests on one connection are sequential, so the latency buffer needs no locking
+        CompletableFuture<long[]> run(){
+            if (System.nanoTime() >= this.deadline)
+                return CompletableFuture.completedFuture(Arrays.copyOf(this.latencies, this.count));
+
+            long sent = System.nanoTime();
+            return this.client.sendAsync(this.request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    if (failure != null || response.statusCode() != 200)
+                        this.errors.incrementAndGet();
+                    if (this.count == this.latencies.length)
+                        this.latencies = Arrays.copyOf(this.latencies, this.count * 2);
+                    this.latencies[this.count++] = System.nanoTime() - sent;
+                    return this;
+                })
+                .thenCompose(Connection::run);
+        }
+
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(System.getProperty("benchmark.url", "http://localhost:8081/games"));
+        int connections = Integer.getInteger("benchmark.connections", 10_000);
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("benchmark.duration", "30s"));
+        String pid = System.getProperty("benchmark.pid");
+
+        long idleRss = pid == null ? 0 : readStatus(pid, "VmRSS");
+        AtomicLong peakRss = new AtomicLong(idleRss);
+        AtomicLong peakThreads = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        if (pid != null)
+            sampler.scheduleAtFixedRate(() -> {
+                peakRss.accumulateAndGet(readStatus(pid, "VmRSS"), Math::max);
+                peakThreads.accumulateAndGet(readStatus(pid, "Threads"), Math::max);
+            }, 0, 200, TimeUnit.MILLISECONDS);
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()))
+            .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        List<CompletableFuture<long[]>> futures = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++)
+            futures.add(new Connection(client, request, deadline, errors).run());
+
+        long[] all = futures.stream()
+            .map(CompletableFuture::join)
+            .flatMapToLong(Arrays::stream)
+            .sorted()
+            .toArray();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        sampler.shutdownNow();
+
+        System.out.printf("%nGET %s, %d connections, %s%n", uri, connections, duration);
+        System.out.printf("throughput   %.1f req/s%n", all.length / seconds);
+        System.out.printf("p50          %.2f ms%n", percentileMillis(all, 50));
+        System.out.printf("p99          %.2f ms%n", percentileMillis(all, 99));
+        System.out.printf("errors       %d%n", errors.get());
+        if (pid != null) {
+            System.out.printf("server rss   %d kB idle, %d kB peak%n", idleRss, peakRss.get());
+            System.out.printf("per conn     %.1f kB%n", (peakRss.get() - idleRss) / (double) connections);
+            System.out.printf("threads      %d peak%n", peakThreads.get());
+        }
+        System.exit(0);
+    }
+
+    static double percentileMillis(long[] sorted, double percentile){
+        if (sorted.length == 0)
+            return 0;
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    // /proc/<pid>/status reports VmRSS in kB and Threads as a plain count
+    static long readStatus(String pid, String field){
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", pid, "status")))
+                if (line.startsWith(field + ":"))
+                    return Long.parseLong(line.substring(field.length() + 1).replace("kB", "").trim());
+            return 0;
+        } catch (IOException exception) {
+            return 0;
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.boardcamp.api.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.boardcamp.api.dtos.CustomerDTO;
+import com.boardcamp.api.dtos.GameDTO;
+import com.boardcamp.api.models.Customer;
+import com.boardcamp.api.models.Game;
+import com.boardcamp.api.models.Rental;
+import com.boardcamp.api.projections.RentalView;
+
+final class BenchmarkData {
+
+    private BenchmarkData(){
+    }
+
+    static Customer customer(long id){
+        Customer customer = new Customer(new CustomerDTO("Customer " + id, String.format("%011d", id)));
+        customer.setId(id);
+        return customer;
+    }
+
+    static Game game(long id){
+        Game game = new Game(new GameDTO("Game " + id, "https://boardcamp.com/games/" + id + ".png", 1_000_000L, 1500L));
+        game.setId(id);
+        return game;
+    }
+
+    // returned 5 days late, so finishing it always charges a delay fee
+    static Rental openRental(long id, Customer customer, Game game){
+        return new Rental(id, LocalDate.now().minusDays(8), 3L, null, 4500L, 0L, customer, game);
+    }
+
+    static List<Rental> rentals(int size){
+        List<Rental> rentals = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++)
+            rentals.add(openRental(i, customer(i % 1000 + 1), game(i % 100 + 1)));
+        return rentals;
+    }
+
+    static List<RentalView> rentalViews(int size){
+        return rentals(size).stream()
+            .map(rental -> new RentalView(rental.getId(), rental.getRentDate(), rental.getDaysRented(), rental.getReturnDate(),
+                rental.getOriginalPrice(), rental.getDelayFee(),
+                rental.getCustomer().getId(), rental.getCustomer().getName(), rental.getCustomer().getCpf(),
+                rental.getGame().getId(), rental.getGame().getName(), rental.getGame().getImage(),
+                rental.getGame().getStockTotal(), rental.getGame().getPricePerDay()))
+            .toList();
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.boardcamp.api.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import com.boardcamp.api.exceptions.CustomerNotFoundException;
+import com.boardcamp.api.exceptions.GlobalExceptionHandler;
+import com.boardcamp.api.exceptions.InvalidCursorException;
+import com.boardcamp.api.pagination.Cursor;
+
+/**
+ * Cost of the error path: building the exception, including its stack trace, and mapping it to a response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+
+    @Benchmark
+    public ResponseEntity<String> customerNotFound(){
+        return this.globalExceptionHandler.handleCustomerNotFound(new CustomerNotFoundException());
+    }
+
+    @Benchmark
+    public ResponseEntity<String> invalidCursor(){
+        try {
+            Cursor.decodeId("not a cursor");
+            throw new IllegalStateException();
+        } catch (InvalidCursorException exception) {
+            return this.globalExceptionHandler.handleInvalidCursor(exception);
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.boardcamp.api.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import com.boardcamp.api.ApiApplication;
+import com.boardcamp.api.dtos.CustomerDTO;
+import com.boardcamp.api.dtos.GameDTO;
+import com.boardcamp.api.dtos.RentalDTO;
+import com.boardcamp.api.models.Customer;
+import com.boardcamp.api.models.Game;
+import com.boardcamp.api.models.Rental;
+import com.boardcamp.api.repositories.CustomerRepository;
+import com.boardcamp.api.repositories.GameRepository;
+import com.boardcamp.api.repositories.RevenueRollupRepository;
+import com.boardcamp.api.services.RentalService;
+
+/**
+ * RentalService wired to the real repositories, transactions and caches on an in-memory H2 database in
+ * PostgreSQL mode, so the numbers include Hibernate and JDBC but no network round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RentalPersistenceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private RentalService rentalService;
+    private RentalDTO rentalDTO;
+    private LocalDate returnDate;
+
+    @Setup
+    public void setUp(){
+        // H2 has no INSERT ... ON CONFLICT DO UPDATE, so the revenue rollup upsert is left out of the measurement
+        this.context = new SpringApplicationBuilder(ApiApplication.class)
+            .web(WebApplicationType.NONE)
+            // a bean definition, unlike a singleton, makes component scanning skip the real repository instead of replacing the stub
+            .initializers(context -> ((GenericApplicationContext) context).registerBean("revenueRollupRepository",
+                RevenueRollupRepository.class, () -> mock(RevenueRollupRepository.class, withSettings().stubOnly())))
+            .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false",
+                "--logging.level.root=WARN");
+        this.rentalService = this.context.getBean(RentalService.class);
+
+        Customer customer = this.context.getBean(CustomerRepository.class)
+            .save(new Customer(new CustomerDTO("Benchmark", "00000000000")));
+        // stock large enough that the measurement never runs out of units
+        Game game = this.context.getBean(GameRepository.class)
+            .save(new Game(new GameDTO("Benchmark", null, Long.MAX_VALUE / 2, 1500L)));
+
+        this.rentalDTO = new RentalDTO(customer.getId(), game.getId(), 3L);
+        this.returnDate = LocalDate.now().plusDays(5);
+    }
+
+    @TearDown
+    public void tearDown(){
+        this.context.close();
+    }
+
+    @Benchmark
+    public Rental postRental(){
+        return this.rentalService.postRental(this.rentalDTO);
+    }
+
+    @Benchmark
+    public Rental postAndFinishLateRental(){
+        Rental rental = this.rentalService.postRental(this.rentalDTO);
+        return this.rentalService.finishRental(rental.getId(), this.returnDate);
+    }
+
+}
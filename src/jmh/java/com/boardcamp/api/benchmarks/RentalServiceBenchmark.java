@@ -0,0 +1,121 @@
+package com.boardcamp.api.benchmarks;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.boardcamp.api.dtos.RentalDTO;
+import com.boardcamp.api.exceptions.CustomerNotFoundException;
+import com.boardcamp.api.models.Customer;
+import com.boardcamp.api.models.Game;
+import com.boardcamp.api.models.Rental;
+import com.boardcamp.api.repositories.CustomerRepository;
+import com.boardcamp.api.repositories.GameRepository;
+import com.boardcamp.api.repositories.RentalRepository;
+import com.boardcamp.api.repositories.RevenueRollupRepository;
+import com.boardcamp.api.services.CustomerCache;
+import com.boardcamp.api.services.GameCatalogCache;
+import com.boardcamp.api.services.OptimisticRetry;
+import com.boardcamp.api.services.RentalMetrics;
+import com.boardcamp.api.services.RentalService;
+
+/**
+ * RentalService with mocked collaborators, so the numbers cover only the service logic and entity construction.
+ * Mocks are stub-only: recording every invocation for verification would grow the heap across iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RentalServiceBenchmark {
+
+    @InjectMocks
+    private RentalService rentalService;
+
+    @Mock(stubOnly = true)
+    private CustomerRepository customerRepository;
+
+    @Mock(stubOnly = true)
+    private CustomerCache customerCache;
+
+    @Mock(stubOnly = true)
+    private GameRepository gameRepository;
+
+    @Mock(stubOnly = true)
+    private RentalRepository rentalRepository;
+
+    @Mock(stubOnly = true)
+    private GameCatalogCache gameCatalogCache;
+
+    @Mock(stubOnly = true)
+    private RentalMetrics rentalMetrics;
+
+    @Mock(stubOnly = true)
+    private RevenueRollupRepository revenueRollupRepository;
+
+    @Mock(stubOnly = true)
+    private OptimisticRetry optimisticRetry;
+
+    private final RentalDTO rentalDTO = new RentalDTO(1L, 2L, 3L);
+    private final RentalDTO unknownCustomerDTO = new RentalDTO(404L, 2L, 3L);
+    private final LocalDate today = LocalDate.now();
+
+    @Setup
+    public void setUp(){
+        MockitoAnnotations.openMocks(this);
+
+        Customer customer = BenchmarkData.customer(1L);
+        Game game = BenchmarkData.game(2L);
+
+        doReturn(Optional.of(customer)).when(customerCache).findById(1L);
+        doReturn(Optional.empty()).when(customerCache).findById(404L);
+        doReturn(Optional.of(game)).when(gameRepository).reserveUnit(2L);
+        doReturn(1).when(gameRepository).releaseUnit(2L);
+        doAnswer(invocation -> Optional.of(BenchmarkData.openRental(invocation.getArgument(0), customer, game)))
+            .when(rentalRepository).findById(anyLong());
+        doAnswer(invocation -> invocation.getArgument(0)).when(rentalRepository).save(any());
+        doAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get()).when(optimisticRetry).execute(any(), any());
+    }
+
+    @Benchmark
+    public Rental postRental(){
+        return this.rentalService.postRental(this.rentalDTO);
+    }
+
+    @Benchmark
+    public Rental finishLateRental(){
+        return this.rentalService.finishRental(1L, this.today);
+    }
+
+    @Benchmark
+    public Object postRentalForUnknownCustomer(){
+        try {
+            return this.rentalService.postRental(this.unknownCustomerDTO);
+        } catch (CustomerNotFoundException exception) {
+            return exception;
+        }
+    }
+
+}
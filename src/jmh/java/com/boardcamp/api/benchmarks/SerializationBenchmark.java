@@ -0,0 +1,69 @@
+package com.boardcamp.api.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.boardcamp.api.models.Rental;
+import com.boardcamp.api.projections.RentalView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Jackson serialization of rental responses, configured the way Spring MVC configures its ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter rentalWriter;
+    private Rental rental;
+    private List<Rental> rentals;
+    private List<RentalView> rentalViews;
+
+    @Setup
+    public void setUp(){
+        this.objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        this.rentalWriter = this.objectMapper.writerFor(Rental.class);
+        this.rental = BenchmarkData.openRental(1L, BenchmarkData.customer(1L), BenchmarkData.game(1L));
+        this.rentals = BenchmarkData.rentals(this.rows);
+        this.rentalViews = BenchmarkData.rentalViews(this.rows);
+    }
+
+    @Benchmark
+    public byte[] rentalGraph() throws JsonProcessingException {
+        return this.rentalWriter.writeValueAsBytes(this.rental);
+    }
+
+    @Benchmark
+    public byte[] rentalList() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.rentals);
+    }
+
+    @Benchmark
+    public byte[] rentalViewList() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.rentalViews);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.boardcamp.api.loadtest;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    EndpointStats(String name){
+        this.name = name;
+    }
+
+    String name(){
+        return this.name;
+    }
+
+    // latency is measured from the intended send time, so time spent queued behind a slow server counts
+    void record(long intendedNanos, long completedNanos, boolean success){
+        this.histogram.recordValue(Math.min(completedNanos - intendedNanos, HIGHEST_TRACKABLE_NANOS));
+        if (!success)
+            this.errors.incrementAndGet();
+    }
+
+    void drop(){
+        this.dropped.incrementAndGet();
+    }
+
+    long count(){
+        return this.histogram.getTotalCount();
+    }
+
+    long errors(){
+        return this.errors.get();
+    }
+
+    long dropped(){
+        return this.dropped.get();
+    }
+
+    double percentileMillis(double percentile){
+        return this.histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    double maxMillis(){
+        return this.histogram.getMaxValue() / 1_000_000.0;
+    }
+
+    void writeDistribution(Path file) throws FileNotFoundException {
+        try (PrintStream output = new PrintStream(file.toFile())) {
+            this.histogram.outputPercentileDistribution(output, 1_000_000.0);
+        }
+    }
+
+}
@@ -0,0 +1,228 @@
+package com.boardcamp.api.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.boardcamp.api.ApiApplication;
+
+/**
+ * Open-model load test: requests are sent on a fixed schedule whether or not earlier ones have answered, and every
+ * latency is measured from its scheduled time, so a stalled server shows up in the percentiles instead of slowing
+ * the client down. Each rate in loadtest.rates runs as one step; the report shows where p99 starts to climb.
+ *
+ * mvn -Pload-test test-compile exec:java -Dloadtest.rates=100,200,400 -Dloadtest.step=30s -Dloadtest.mix=create:50,return:30,list:20
+ *
+ * The application is booted on the database configured in .env, unless loadtest.url points at one already running.
+ */
+public class LoadTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String baseUrl;
+    private final Map<String, Integer> mix;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Long> openRentals = new ConcurrentLinkedQueue<>();
+    private final List<Long> customerIds = new ArrayList<>();
+    private final List<Long> gameIds = new ArrayList<>();
+
+    LoadTest(String baseUrl, Map<String, Integer> mix, int maxInFlight){
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] rates = Arrays.stream(System.getProperty("loadtest.rates", "50,100,200,400").split(","))
+            .mapToInt(rate -> Integer.parseInt(rate.trim()))
+            .toArray();
+        Duration step = DurationStyle.detectAndParse(System.getProperty("loadtest.step", "30s"));
+        Duration warmup = DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "10s"));
+        Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix", "create:50,return:30,list:20"));
+        int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 5000);
+        Path output = Path.of(System.getProperty("loadtest.output", "target/load-test"));
+
+        String url = System.getProperty("loadtest.url");
+        ConfigurableApplicationContext context = null;
+        if (url == null) {
+            // off unless asked for, so the steps measure the API rather than its 503s
+            boolean admissionControl = Boolean.getBoolean("loadtest.admission-control");
+            context = new SpringApplicationBuilder(ApiApplication.class)
+                .run("--server.port=0", "--boardcamp.admission.enabled=" + admissionControl, "--logging.level.root=WARN");
+            url = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+
+        try {
+            LoadTest loadTest = new LoadTest(url, mix, maxInFlight);
+            loadTest.seed(Integer.getInteger("loadtest.customers", 200), Integer.getInteger("loadtest.games", 50));
+            loadTest.runStep(rates[0], warmup);
+
+            Files.createDirectories(output);
+            List<String> report = new ArrayList<>();
+            for (int rate : rates) {
+                Map<String, EndpointStats> stats = loadTest.runStep(rate, step);
+                for (EndpointStats endpoint : stats.values()) {
+                    report.add(String.format("%8d %-8s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %7d", rate, endpoint.name(),
+                        endpoint.count(), endpoint.count() / (double) step.toSeconds(),
+                        endpoint.percentileMillis(50), endpoint.percentileMillis(99), endpoint.percentileMillis(99.9),
+                        endpoint.maxMillis(), endpoint.errors(), endpoint.dropped()));
+                    endpoint.writeDistribution(output.resolve(rate + "-" + endpoint.name() + ".hgrm"));
+                }
+            }
+
+            System.out.printf("%nMix %s, %s per step, latencies in ms from the scheduled send time%n", mix, step);
+            System.out.printf("%8s %-8s %9s %9s %9s %9s %9s %9s %7s %7s%n",
+                "rate", "endpoint", "requests", "req/s", "p50", "p99", "p99.9", "max", "errors", "dropped");
+            report.forEach(System.out::println);
+            System.out.printf("%nFull distributions written to %s%n", output.toAbsolutePath());
+        } finally {
+            if (context != null)
+                context.close();
+        }
+        System.exit(0);
+    }
+
+    static Map<String, Integer> parseMix(String mix){
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (!List.of("create", "return", "list").contains(parts[0]))
+                throw new IllegalArgumentException("Unknown endpoint in loadtest.mix: " + parts[0]);
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+
+    void seed(int customers, int games) throws Exception {
+        long run = System.currentTimeMillis() % 100_000_000L;
+        for (int i = 0; i < customers; i++)
+            this.customerIds.add(post("/customers",
+                "{\"name\":\"Load test " + i + "\",\"cpf\":\"" + String.format("%011d", run * 1000 + i) + "\"}"));
+        for (int i = 0; i < games; i++)
+            this.gameIds.add(post("/games",
+                "{\"name\":\"Load test " + run + " " + i + "\",\"stockTotal\":100000000,\"pricePerDay\":1500}"));
+    }
+
+    private long post(String path, String body) throws Exception {
+        HttpResponse<String> response = this.client.send(json(path).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+            HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201)
+            throw new IllegalStateException("Seeding " + path + " failed with " + response.statusCode() + ": " + response.body());
+        return parseId(response.body());
+    }
+
+    Map<String, EndpointStats> runStep(int rate, Duration duration){
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (String endpoint : this.mix.keySet())
+            stats.put(endpoint, new EndpointStats(endpoint));
+        if (!stats.containsKey("create"))
+            stats.put("create", new EndpointStats("create"));
+        int totalWeight = this.mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long requests = duration.toNanos() / intervalNanos;
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0)
+                LockSupport.parkNanos(wait);
+            send(pick(totalWeight), intended, stats);
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (this.inFlight.get() > 0 && System.nanoTime() < drainDeadline)
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        return stats;
+    }
+
+    private String pick(int totalWeight){
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : this.mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0)
+                return entry.getKey();
+        }
+        throw new IllegalStateException();
+    }
+
+    private void send(String endpoint, long intended, Map<String, EndpointStats> stats){
+        Long rentalId = endpoint.equals("return") ? this.openRentals.poll() : null;
+        if (endpoint.equals("return") && rentalId == null)
+            endpoint = "create";
+
+        EndpointStats endpointStats = stats.get(endpoint);
+        if (this.inFlight.get() >= this.maxInFlight) {
+            endpointStats.drop();
+            if (rentalId != null)
+                this.openRentals.offer(rentalId);
+            return;
+        }
+
+        HttpRequest request = switch (endpoint) {
+            case "create" -> json("/rentals").POST(HttpRequest.BodyPublishers.ofString(rentalBody())).build();
+            case "return" -> json("/rentals/" + rentalId + "/return").PUT(HttpRequest.BodyPublishers.noBody()).build();
+            default -> json("/rentals?limit=50").GET().build();
+        };
+        int expectedStatus = endpoint.equals("create") ? 201 : 200;
+        boolean create = endpoint.equals("create");
+
+        this.inFlight.incrementAndGet();
+        this.client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .whenComplete((response, failure) -> {
+                long completed = System.nanoTime();
+                boolean success = failure == null && response.statusCode() == expectedStatus;
+                endpointStats.record(intended, completed, success);
+                if (success && create)
+                    this.openRentals.offer(parseId(response.body()));
+                this.inFlight.decrementAndGet();
+            });
+    }
+
+    private String rentalBody(){
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "{\"customerId\":" + this.customerIds.get(random.nextInt(this.customerIds.size()))
+            + ",\"gameId\":" + this.gameIds.get(random.nextInt(this.gameIds.size()))
+            + ",\"daysRented\":" + (1 + random.nextInt(7)) + "}";
+    }
+
+    private HttpRequest.Builder json(String path){
+        return HttpRequest.newBuilder(URI.create(this.baseUrl + path))
+            .timeout(Duration.ofMinutes(1))
+            .header("Content-Type", "application/json");
+    }
+
+    // the entity's own id is the first field Jackson writes
+    private static long parseId(String body){
+        Matcher matcher = ID.matcher(body);
+        if (!matcher.find())
+            throw new IllegalStateException("No id in response: " + body);
+        return Long.parseLong(matcher.group(1));
+    }
+
+}
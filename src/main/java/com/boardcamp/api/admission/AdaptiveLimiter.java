@@ -0,0 +1,119 @@
+package com.boardcamp.api.admission;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit adjusted by AIMD: every request that finishes within the target latency while the limit is in
+ * use raises it by 1/limit, so by about one per full window; one that takes longer cuts it by a tenth. Requests over
+ * the limit wait in a short queue and are refused when it is full or their wait runs out.
+ */
+public class AdaptiveLimiter {
+
+    private static final double BACKOFF = 0.9;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = this.lock.newCondition();
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final int maxQueue;
+    private double limit;
+    private int inFlight;
+    private int waiting;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, Duration targetLatency, int maxQueue){
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.maxQueue = maxQueue;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    // a ReentrantLock rather than synchronized, so virtual threads waiting here do not pin their carrier
+    public boolean acquire(Duration timeout) throws InterruptedException {
+        this.lock.lock();
+        try {
+            if (this.inFlight < (int) this.limit) {
+                this.inFlight++;
+                return true;
+            }
+            if (this.waiting >= this.maxQueue)
+                return false;
+
+            this.waiting++;
+            try {
+                long remaining = timeout.toNanos();
+                while (this.inFlight >= (int) this.limit) {
+                    if (remaining <= 0)
+                        return false;
+                    remaining = this.released.awaitNanos(remaining);
+                }
+                this.inFlight++;
+                return true;
+            } finally {
+                this.waiting--;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // returns whether the request met the target latency
+    public boolean release(long latencyNanos){
+        this.lock.lock();
+        try {
+            boolean withinTarget = latencyNanos <= this.targetLatencyNanos;
+            // an idle limit says nothing about capacity, so it only grows while at least half of it is used
+            if (withinTarget && this.inFlight * 2 >= this.limit)
+                this.limit = Math.min(this.maxLimit, this.limit + 1 / this.limit);
+            else if (!withinTarget)
+                this.limit = Math.max(this.minLimit, this.limit * BACKOFF);
+            this.inFlight--;
+            this.released.signalAll();
+            return withinTarget;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // for requests whose latency is not a capacity signal, such as long-running streams
+    public void release(){
+        this.lock.lock();
+        try {
+            this.inFlight--;
+            this.released.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public void decrease(){
+        this.lock.lock();
+        try {
+            this.limit = Math.max(this.minLimit, this.limit * BACKOFF);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int limit(){
+        this.lock.lock();
+        try {
+            return (int) this.limit;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int inFlight(){
+        this.lock.lock();
+        try {
+            return this.inFlight;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.boardcamp.api.admission;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits requests to each endpoint group ("GET /rentals", "POST /rentals", ...) up to an adaptive concurrency limit
+ * and answers the rest with 503 and Retry-After before they take a database connection. Reads and writes have their
+ * own limits, and a write that misses its target latency also lowers every read limit, so reads are shed first.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "boardcamp.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Set<String> RESOURCES = Set.of("customers", "games", "rentals", "reports");
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD");
+    private static final int MIN_LIMIT = 1;
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final MeterRegistry meterRegistry;
+    private final int readLimit;
+    private final int readMaxLimit;
+    private final Duration readTargetLatency;
+    private final int writeLimit;
+    private final int writeMaxLimit;
+    private final Duration writeTargetLatency;
+    private final int queueSize;
+    private final Duration queueTimeout;
+    private final Map<String, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+    private final Map<String, AdaptiveLimiter> readLimiters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    AdmissionControlFilter(MeterRegistry meterRegistry,
+            @Value("${boardcamp.admission.reads.limit:10}") int readLimit,
+            @Value("${boardcamp.admission.reads.max-limit:50}") int readMaxLimit,
+            @Value("${boardcamp.admission.reads.target-latency:200ms}") Duration readTargetLatency,
+            @Value("${boardcamp.admission.writes.limit:20}") int writeLimit,
+            @Value("${boardcamp.admission.writes.max-limit:100}") int writeMaxLimit,
+            @Value("${boardcamp.admission.writes.target-latency:500ms}") Duration writeTargetLatency,
+            @Value("${boardcamp.admission.queue-size:20}") int queueSize,
+            @Value("${boardcamp.admission.queue-timeout:50ms}") Duration queueTimeout){
+        this.meterRegistry = meterRegistry;
+        this.readLimit = readLimit;
+        this.readMaxLimit = readMaxLimit;
+        this.readTargetLatency = readTargetLatency;
+        this.writeLimit = writeLimit;
+        this.writeMaxLimit = writeMaxLimit;
+        this.writeTargetLatency = writeTargetLatency;
+        this.queueSize = queueSize;
+        this.queueTimeout = queueTimeout;
+    }
+
+    // only the API's own resources are limited; actuator and unknown paths pass, so neither can add groups
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request){
+        return group(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String group = group(request);
+        boolean read = READ_METHODS.contains(request.getMethod());
+        AdaptiveLimiter limiter = this.limiters.computeIfAbsent(group, key -> createLimiter(key, read));
+
+        boolean admitted;
+        try {
+            admitted = limiter.acquire(this.queueTimeout);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            this.rejections.get(group).increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async)
+                releaseOnCompletion(request, limiter);
+            else if (!limiter.release(System.nanoTime() - start) && !read)
+                this.readLimiters.values().forEach(AdaptiveLimiter::decrease);
+        }
+    }
+
+    private static String group(HttpServletRequest request){
+        String[] segments = request.getServletPath().split("/", 3);
+        if (segments.length < 2 || !RESOURCES.contains(segments[1]))
+            return null;
+        return request.getMethod() + " /" + segments[1];
+    }
+
+    private AdaptiveLimiter createLimiter(String group, boolean read){
+        AdaptiveLimiter limiter = read
+            ? new AdaptiveLimiter(this.readLimit, MIN_LIMIT, this.readMaxLimit, this.readTargetLatency, this.queueSize)
+            : new AdaptiveLimiter(this.writeLimit, MIN_LIMIT, this.writeMaxLimit, this.writeTargetLatency, this.queueSize);
+        if (read)
+            this.readLimiters.put(group, limiter);
+
+        Gauge.builder("boardcamp.admission.limit", limiter, AdaptiveLimiter::limit)
+            .description("Current concurrency limit of the endpoint group")
+            .tag("group", group)
+            .register(this.meterRegistry);
+        Gauge.builder("boardcamp.admission.in.flight", limiter, AdaptiveLimiter::inFlight)
+            .description("Requests of the endpoint group being processed")
+            .tag("group", group)
+            .register(this.meterRegistry);
+        this.rejections.put(group, Counter.builder("boardcamp.admission.rejected")
+            .description("Requests refused with 503 because the endpoint group was at its limit")
+            .tag("group", group)
+            .register(this.meterRegistry));
+        return limiter;
+    }
+
+    // a streamed response keeps its permit, and its database connection, until the stream ends
+    private static void releaseOnCompletion(HttpServletRequest request, AdaptiveLimiter limiter){
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event){
+                limiter.release();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event){
+            }
+
+            @Override
+            public void onError(AsyncEvent event){
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event){
+            }
+        });
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getOutputStream().write("The server is busy, try again later".getBytes(StandardCharsets.UTF_8));
+    }
+
+}
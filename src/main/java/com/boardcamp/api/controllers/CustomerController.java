@@ -1,19 +1,33 @@
 package com.boardcamp.api.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.boardcamp.api.dtos.CustomerDTO;
+import com.boardcamp.api.dtos.ImportReportDTO;
+import com.boardcamp.api.imports.ImportFormat;
 import com.boardcamp.api.models.Customer;
+import com.boardcamp.api.pagination.CursorPage;
+import com.boardcamp.api.projections.CustomerRentalHistoryView;
+import com.boardcamp.api.services.CustomerImportService;
 import com.boardcamp.api.services.CustomerService;
+import com.boardcamp.api.services.RentalService;
 
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 
 @RestController
@@ -21,9 +35,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 public class CustomerController {
     
     private final CustomerService customerService;
+    private final CustomerImportService customerImportService;
+    private final RentalService rentalService;
 
-    CustomerController(CustomerService customerService){
+    CustomerController(CustomerService customerService, CustomerImportService customerImportService, RentalService rentalService){
         this.customerService = customerService;
+        this.customerImportService = customerImportService;
+        this.rentalService = rentalService;
     }
 
     @PostMapping
@@ -33,10 +51,30 @@ public class CustomerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(customer);
     }
 
+    @PostMapping(value = "/import", consumes = { ImportFormat.CSV_VALUE, ImportFormat.NDJSON_VALUE })
+    public ResponseEntity<ImportReportDTO> importCustomers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        ImportReportDTO report = customerImportService.importCustomers(body, ImportFormat.fromContentType(contentType));
+
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Customer> getCustomers(@PathVariable Long id) {
         Customer customer = customerService.getCustomerById(id);
         return ResponseEntity.status(HttpStatus.OK).body(customer);
     }    
 
+    @GetMapping("/{id}/rentals")
+    public ResponseEntity<CustomerRentalHistoryView> getCustomerRentals(@PathVariable Long id, @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        CustomerRentalHistoryView history = rentalService.getCustomerRentals(id, after, limit, LocalDate.now());
+        return ResponseEntity.status(HttpStatus.OK).headers(CursorPage.headers(history.nextCursor())).body(history);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Customer>> getCustomers(@RequestParam(required = false) String after, @RequestParam(defaultValue = "100") int limit) {
+        CursorPage<Customer> customers = customerService.getCustomers(after, limit);
+        return ResponseEntity.status(HttpStatus.OK).headers(customers.headers()).body(customers.items());
+    }
+
 }
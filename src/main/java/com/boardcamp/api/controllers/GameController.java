@@ -1,17 +1,28 @@
 package com.boardcamp.api.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.boardcamp.api.dtos.GameDTO;
+import com.boardcamp.api.dtos.ImportReportDTO;
+import com.boardcamp.api.imports.ImportFormat;
 import com.boardcamp.api.models.Game;
+import com.boardcamp.api.projections.GameView;
+import com.boardcamp.api.services.GameCatalogCache.CatalogPage;
+import com.boardcamp.api.services.GameImportService;
 import com.boardcamp.api.services.GameService;
 
 import jakarta.validation.Valid;
@@ -21,9 +32,11 @@ import jakarta.validation.Valid;
 public class GameController {
 
     final GameService gameService;
+    final GameImportService gameImportService;
 
-    GameController(GameService gameService){
+    GameController(GameService gameService, GameImportService gameImportService){
         this.gameService = gameService;
+        this.gameImportService = gameImportService;
     }
 
     @PostMapping
@@ -33,11 +46,30 @@ public class GameController {
         return ResponseEntity.status(HttpStatus.CREATED).body(game);
     }
 
-    @GetMapping
-    public ResponseEntity<List<Game>> getGames(){
-        List<Game> games = gameService.getGames();
+    @PostMapping(value = "/import", consumes = { ImportFormat.CSV_VALUE, ImportFormat.NDJSON_VALUE })
+    public ResponseEntity<ImportReportDTO> importGames(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        ImportReportDTO report = gameImportService.importGames(body, ImportFormat.fromContentType(contentType));
+
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
+    @GetMapping(params = "name")
+    public ResponseEntity<List<GameView>> searchGames(@RequestParam String name, @RequestParam(defaultValue = "20") int limit){
+        List<GameView> games = gameService.searchGames(name, limit);
 
         return ResponseEntity.status(HttpStatus.OK).body(games);
     }
+
+    @GetMapping
+    public ResponseEntity<byte[]> getGames(@RequestParam(required = false) String after, @RequestParam(defaultValue = "100") int limit){
+        CatalogPage games = gameService.getGames(after, limit);
+
+        // the ETag lets Spring answer a matching If-None-Match with 304 and no body
+        return ResponseEntity.status(HttpStatus.OK)
+            .headers(games.headers())
+            .eTag(games.etag())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(games.body());
+    }
     
 }
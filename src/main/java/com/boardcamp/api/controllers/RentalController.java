@@ -3,7 +3,9 @@ package com.boardcamp.api.controllers;
 import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,10 +13,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.boardcamp.api.dtos.RentalBatchDTO;
 import com.boardcamp.api.dtos.RentalDTO;
+import com.boardcamp.api.dtos.RentalFilterDTO;
 import com.boardcamp.api.models.Rental;
+import com.boardcamp.api.models.RentalStatus;
+import com.boardcamp.api.pagination.CursorPage;
+import com.boardcamp.api.projections.OverdueRentalView;
+import com.boardcamp.api.projections.RentalView;
 import com.boardcamp.api.services.RentalService;
 
 import jakarta.validation.Valid;
@@ -23,6 +33,8 @@ import jakarta.validation.Valid;
 @RequestMapping("/rentals")
 public class RentalController {
     
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final RentalService rentalService;
 
     RentalController(RentalService rentalService){
@@ -35,10 +47,33 @@ public class RentalController {
         return ResponseEntity.status(HttpStatus.CREATED).body(rental);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<Rental>> postRentals(@RequestBody @Valid RentalBatchDTO rentalBatchDTO){
+        List<Rental> rentals = this.rentalService.postRentals(rentalBatchDTO.getRentals());
+        return ResponseEntity.status(HttpStatus.CREATED).body(rentals);
+    }
+
     @GetMapping
-    public ResponseEntity<List<Rental>> getRentals(){
-        List<Rental> rentals = this.rentalService.getRentals();
-        return ResponseEntity.status(HttpStatus.OK).body(rentals);
+    public ResponseEntity<List<RentalView>> getRentals(@RequestParam(required = false) Long customerId, @RequestParam(required = false) Long gameId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String after, @RequestParam(defaultValue = "100") int limit){
+        RentalFilterDTO filter = new RentalFilterDTO(customerId, gameId, RentalStatus.fromValue(status), startDate, endDate);
+        CursorPage<RentalView> rentals = this.rentalService.getRentals(filter, after, limit);
+        return ResponseEntity.status(HttpStatus.OK).headers(rentals.headers()).body(rentals.items());
+    }
+
+    @GetMapping("/overdue")
+    public ResponseEntity<List<OverdueRentalView>> getOverdueRentals(@RequestParam(required = false) String after, @RequestParam(defaultValue = "100") int limit){
+        CursorPage<OverdueRentalView> rentals = this.rentalService.getOverdueRentals(after, limit, LocalDate.now());
+        return ResponseEntity.status(HttpStatus.OK).headers(rentals.headers()).body(rentals.items());
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportRentals(){
+        StreamingResponseBody body = output -> this.rentalService.exportRentals(output);
+        return ResponseEntity.status(HttpStatus.OK).contentType(NDJSON).body(body);
     }
 
     @PutMapping("/{id}/return")
@@ -0,0 +1,32 @@
+package com.boardcamp.api.controllers;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.boardcamp.api.models.RevenueGrouping;
+import com.boardcamp.api.projections.RevenueView;
+import com.boardcamp.api.services.ReportService;
+
+@RestController
+@RequestMapping("/reports")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    ReportController(ReportService reportService){
+        this.reportService = reportService;
+    }
+
+    @GetMapping("/revenue")
+    public ResponseEntity<List<RevenueView>> getRevenue(@RequestParam(defaultValue = "month") String groupBy){
+        List<RevenueView> revenue = this.reportService.getRevenue(RevenueGrouping.fromValue(groupBy));
+        return ResponseEntity.status(HttpStatus.OK).body(revenue);
+    }
+
+}
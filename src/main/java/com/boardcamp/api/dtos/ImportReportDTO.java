@@ -0,0 +1,31 @@
+package com.boardcamp.api.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ImportReportDTO {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long imported;
+
+    private long failed;
+
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+
+    public void addImported(long rows){
+        this.imported += rows;
+    }
+
+    public void addError(long line, String message){
+        this.failed++;
+        if (this.errors.size() < MAX_REPORTED_ERRORS)
+            this.errors.add(new ImportErrorDTO(line, message));
+    }
+
+}
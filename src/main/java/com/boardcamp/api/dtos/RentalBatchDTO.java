@@ -0,0 +1,21 @@
+package com.boardcamp.api.dtos;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RentalBatchDTO {
+
+    @NotEmpty(message = "Rentals must not be empty")
+    @Size(max = 100, message = "A batch must contain at most 100 rentals")
+    private List<@Valid RentalDTO> rentals;
+
+}
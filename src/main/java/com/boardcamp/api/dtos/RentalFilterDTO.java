@@ -0,0 +1,26 @@
+package com.boardcamp.api.dtos;
+
+import java.time.LocalDate;
+
+import com.boardcamp.api.models.RentalStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RentalFilterDTO {
+
+    private Long customerId;
+
+    private Long gameId;
+
+    private RentalStatus status;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+}
@@ -0,0 +1,7 @@
+package com.boardcamp.api.exceptions;
+
+public class ConcurrentUpdateException extends RuntimeException {
+    public ConcurrentUpdateException(){
+        super("This resource is being changed by another request, try again");
+    }
+}
@@ -49,4 +49,34 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(exception.getMessage());
     }
 
+    @ExceptionHandler({ InvalidCursorException.class })
+    public ResponseEntity<String> handleInvalidCursor(InvalidCursorException exception){
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+    }
+
+    @ExceptionHandler({ InvalidLimitException.class })
+    public ResponseEntity<String> handleInvalidLimit(InvalidLimitException exception){
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+    }
+
+    @ExceptionHandler({ InvalidRentalStatusException.class })
+    public ResponseEntity<String> handleInvalidRentalStatus(InvalidRentalStatusException exception){
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+    }
+
+    @ExceptionHandler({ InvalidDateRangeException.class })
+    public ResponseEntity<String> handleInvalidDateRange(InvalidDateRangeException exception){
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+    }
+
+    @ExceptionHandler({ InvalidRevenueGroupingException.class })
+    public ResponseEntity<String> handleInvalidRevenueGrouping(InvalidRevenueGroupingException exception){
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+    }
+
+    @ExceptionHandler({ ConcurrentUpdateException.class })
+    public ResponseEntity<String> handleConcurrentUpdate(ConcurrentUpdateException exception){
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
+    }
+
 }
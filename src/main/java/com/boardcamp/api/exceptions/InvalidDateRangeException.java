@@ -0,0 +1,7 @@
+package com.boardcamp.api.exceptions;
+
+public class InvalidDateRangeException extends RuntimeException {
+    public InvalidDateRangeException(){
+        super("Start date should not be after end date");
+    }
+}
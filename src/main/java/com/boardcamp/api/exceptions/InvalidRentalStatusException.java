@@ -0,0 +1,7 @@
+package com.boardcamp.api.exceptions;
+
+public class InvalidRentalStatusException extends RuntimeException {
+    public InvalidRentalStatusException(){
+        super("Status should be open or closed");
+    }
+}
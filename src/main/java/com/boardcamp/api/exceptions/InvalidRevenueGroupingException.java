@@ -0,0 +1,7 @@
+package com.boardcamp.api.exceptions;
+
+public class InvalidRevenueGroupingException extends RuntimeException {
+    public InvalidRevenueGroupingException(){
+        super("groupBy should be game, month or customer");
+    }
+}
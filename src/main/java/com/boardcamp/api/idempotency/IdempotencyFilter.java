@@ -0,0 +1,217 @@
+package com.boardcamp.api.idempotency;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Replays the stored response of POST /rentals and PUT /rentals/{id}/return when a request repeats an Idempotency-Key,
+ * without running the request again. Recent responses are kept in memory; the idempotency_keys table makes keys
+ * hold across instances and restarts until they expire.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String DIFFERENT_REQUEST = "This Idempotency-Key was already used for a different request";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Pattern RENTAL_RETURN = Pattern.compile("/rentals/\\d+/return");
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Cache<String, StoredResponse> responses;
+    private final int maxBodySize;
+
+    IdempotencyFilter(IdempotencyKeyRepository idempotencyKeyRepository,
+            @Value("${boardcamp.idempotency.cache.max-size:10000}") long maxSize,
+            @Value("${boardcamp.idempotency.ttl:24h}") Duration ttl,
+            @Value("${boardcamp.idempotency.max-body-size:64KB}") DataSize maxBodySize){
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.maxBodySize = Math.toIntExact(maxBodySize.toBytes());
+        this.responses = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request){
+        if (request.getHeader(KEY_HEADER) == null)
+            return true;
+        String path = request.getServletPath();
+        boolean createRental = request.getMethod().equals("POST") && path.equals("/rentals");
+        boolean returnRental = request.getMethod().equals("PUT") && RENTAL_RETURN.matcher(path).matches();
+        return !createRental && !returnRental;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must have between 1 and 255 characters");
+            return;
+        }
+
+        // the body is held in memory for the fingerprint, so it is read only up to the limit, whatever Content-Length says
+        byte[] body = request.getInputStream().readNBytes(this.maxBodySize + 1);
+        if (body.length > this.maxBodySize) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Requests with an Idempotency-Key must have a body of at most " + this.maxBodySize + " bytes");
+            return;
+        }
+        String fingerprint = fingerprint(request, body);
+
+        StoredResponse cached = this.responses.getIfPresent(key);
+        if (cached != null) {
+            replay(cached, fingerprint, response);
+            return;
+        }
+
+        if (!this.idempotencyKeyRepository.claim(key, fingerprint)) {
+            Optional<StoredResponse> stored = this.idempotencyKeyRepository.find(key);
+            if (stored.isPresent() && stored.get().completed()) {
+                this.responses.put(key, stored.get());
+                replay(stored.get(), fingerprint, response);
+            } else if (stored.isPresent() && !stored.get().fingerprint().equals(fingerprint)) {
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY, DIFFERENT_REQUEST);
+            } else {
+                reject(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed");
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean succeeded = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), wrapper);
+            // only successes are kept: a request that failed may succeed when sent again, so its key is released
+            succeeded = wrapper.getStatus() >= 200 && wrapper.getStatus() < 300;
+            if (succeeded)
+                store(key, new StoredResponse(fingerprint, wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray()));
+        } finally {
+            if (!succeeded)
+                this.idempotencyKeyRepository.release(key);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    // the rental is already committed, so a key whose response could not be stored stays claimed rather than released:
+    // this instance still replays it from memory, and other instances answer 409 until the claim expires
+    private void store(String key, StoredResponse stored){
+        this.responses.put(key, stored);
+        try {
+            this.idempotencyKeyRepository.complete(key, stored);
+        } catch (DataAccessException exception) {
+            // the client still gets the response of the rental it caused
+        }
+    }
+
+    private static void replay(StoredResponse stored, String fingerprint, HttpServletResponse response) throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY, DIFFERENT_REQUEST);
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null)
+            response.setContentType(stored.contentType());
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getOutputStream().write(message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // the same key sent to another endpoint or with another body is a client error, not a retry
+    private static String fingerprint(HttpServletRequest request, byte[] body){
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getServletPath() + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    // the body is read up front for the fingerprint, so the controller reads it again from memory
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body){
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream(){
+            ByteArrayInputStream input = new ByteArrayInputStream(this.body);
+            return new ServletInputStream() {
+                @Override
+                public int read(){
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length){
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished(){
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady(){
+                    return true;
+                }
+
+                // the whole body is already in memory, so it is available and fully read at once
+                @Override
+                public void setReadListener(ReadListener listener){
+                    try {
+                        if (!isFinished())
+                            listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException exception) {
+                        listener.onError(exception);
+                    }
+                }
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.boardcamp.api.idempotency;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IdempotencyKeyCleanup {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration ttl;
+
+    IdempotencyKeyCleanup(IdempotencyKeyRepository idempotencyKeyRepository, @Value("${boardcamp.idempotency.ttl:24h}") Duration ttl){
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = ttl;
+    }
+
+    // also frees keys left unfinished by an instance that stopped mid-request
+    @Scheduled(fixedDelayString = "${boardcamp.idempotency.cleanup-interval:PT10M}", initialDelayString = "${boardcamp.idempotency.cleanup-interval:PT10M}")
+    public void deleteExpiredKeys(){
+        this.idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minus(this.ttl));
+    }
+
+}
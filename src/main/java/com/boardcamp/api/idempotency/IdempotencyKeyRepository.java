@@ -0,0 +1,51 @@
+package com.boardcamp.api.idempotency;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class IdempotencyKeyRepository {
+
+    private static final String CLAIM = "INSERT INTO idempotency_keys (idempotency_key, fingerprint) VALUES (?, ?) ON CONFLICT DO NOTHING";
+    private static final String FIND = "SELECT fingerprint, status, content_type, body FROM idempotency_keys WHERE idempotency_key = ?";
+    private static final String COMPLETE = "UPDATE idempotency_keys SET status = ?, content_type = ?, body = ? WHERE idempotency_key = ?";
+    private static final String RELEASE = "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND status IS NULL";
+    private static final String DELETE_CREATED_BEFORE = "DELETE FROM idempotency_keys WHERE created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    IdempotencyKeyRepository(JdbcTemplate jdbcTemplate){
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // the primary key makes exactly one of several concurrent requests with the same key the owner
+    public boolean claim(String key, String fingerprint){
+        return this.jdbcTemplate.update(CLAIM, key, fingerprint) == 1;
+    }
+
+    public Optional<StoredResponse> find(String key){
+        List<StoredResponse> responses = this.jdbcTemplate.query(FIND,
+            (row, number) -> new StoredResponse(row.getString("fingerprint"), row.getObject("status", Integer.class),
+                row.getString("content_type"), row.getBytes("body")),
+            key);
+        return responses.stream().findFirst();
+    }
+
+    public void complete(String key, StoredResponse response){
+        this.jdbcTemplate.update(COMPLETE, response.status(), response.contentType(), response.body(), key);
+    }
+
+    public void release(String key){
+        this.jdbcTemplate.update(RELEASE, key);
+    }
+
+    public int deleteCreatedBefore(Instant instant){
+        return this.jdbcTemplate.update(DELETE_CREATED_BEFORE, Timestamp.from(instant));
+    }
+
+}
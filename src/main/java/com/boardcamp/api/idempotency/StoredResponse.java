@@ -0,0 +1,10 @@
+package com.boardcamp.api.idempotency;
+
+// status is null while the request that claimed the key has not finished
+public record StoredResponse(String fingerprint, Integer status, String contentType, byte[] body) {
+
+    public boolean completed(){
+        return status != null;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.boardcamp.api.imports;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class CpfIndex {
+
+    private static final int CPF_LENGTH = 11;
+
+    private final LongHashSet numericCpfs;
+    private final Set<String> otherCpfs = new HashSet<>();
+
+    public CpfIndex(int expectedSize){
+        this.numericCpfs = new LongHashSet(expectedSize);
+    }
+
+    public boolean add(String cpf){
+        return isNumeric(cpf) ? this.numericCpfs.add(Long.parseLong(cpf)) : this.otherCpfs.add(cpf);
+    }
+
+    public boolean contains(String cpf){
+        return isNumeric(cpf) ? this.numericCpfs.contains(Long.parseLong(cpf)) : this.otherCpfs.contains(cpf);
+    }
+
+    // an 11-digit CPF fits in a long without losing leading zeros because the length is fixed
+    private static boolean isNumeric(String cpf){
+        if (cpf.length() != CPF_LENGTH)
+            return false;
+        for (int i = 0; i < CPF_LENGTH; i++)
+            if (cpf.charAt(i) < '0' || cpf.charAt(i) > '9')
+                return false;
+        return true;
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.boardcamp.api.imports;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.api.dtos.ImportReportDTO;
+
+import jakarta.persistence.EntityManager;
+
+public class ImportChunk<T> {
+
+    private final int size;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Consumer<List<T>> saver;
+    private final ImportReportDTO report;
+    private final String failureMessage;
+    private final List<ImportRow<T>> rows;
+
+    public ImportChunk(int size, TransactionTemplate transactionTemplate, EntityManager entityManager, Consumer<List<T>> saver,
+            ImportReportDTO report, String failureMessage){
+        this.size = size;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.saver = saver;
+        this.report = report;
+        this.failureMessage = failureMessage;
+        this.rows = new ArrayList<>(size);
+    }
+
+    public void add(long line, T value){
+        this.rows.add(new ImportRow<>(line, value, null));
+        if (this.rows.size() == this.size)
+            flush();
+    }
+
+    // the request's entity manager outlives the chunk's transaction, so it is cleared to keep saved rows from piling up in it
+    public void flush(){
+        if (this.rows.isEmpty())
+            return;
+
+        List<T> values = this.rows.stream().map(ImportRow::value).toList();
+        if (save(values))
+            this.report.addImported(values.size());
+        else
+            saveRowByRow();
+        this.entityManager.clear();
+        this.rows.clear();
+    }
+
+    // a chunk fails as a whole, so its rows are saved again one by one and only the ones that still fail are reported
+    private void saveRowByRow(){
+        for (ImportRow<T> row : this.rows) {
+            if (save(List.of(row.value())))
+                this.report.addImported(1);
+            else
+                this.report.addError(row.line(), this.failureMessage);
+        }
+    }
+
+    private boolean save(List<T> values){
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> this.saver.accept(values));
+            return true;
+        } catch (DataAccessException | TransactionException exception) {
+            return false;
+        }
+    }
+
+}
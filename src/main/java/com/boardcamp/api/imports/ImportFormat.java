@@ -0,0 +1,18 @@
+package com.boardcamp.api.imports;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static final String CSV_VALUE = "text/csv";
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    public static ImportFormat fromContentType(String contentType){
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(NDJSON_VALUE)))
+            return NDJSON;
+        return CSV;
+    }
+}
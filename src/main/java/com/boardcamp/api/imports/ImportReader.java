@@ -0,0 +1,101 @@
+package com.boardcamp.api.imports;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class ImportReader<T> implements Closeable {
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final Class<T> type;
+    private final List<String> columns;
+    private final ObjectMapper objectMapper;
+    private long line = 0;
+
+    public ImportReader(InputStream input, ImportFormat format, Class<T> type, List<String> columns, ObjectMapper objectMapper){
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.type = type;
+        this.columns = columns;
+        this.objectMapper = objectMapper;
+    }
+
+    public ImportRow<T> next() throws IOException {
+        String text;
+        do {
+            text = this.reader.readLine();
+            if (text == null)
+                return null;
+            this.line++;
+        } while (text.isBlank() || isHeader(text));
+
+        try {
+            if (this.format == ImportFormat.NDJSON)
+                return new ImportRow<>(this.line, this.objectMapper.readValue(text, this.type), null);
+            return new ImportRow<>(this.line, this.objectMapper.convertValue(toMap(text), this.type), null);
+        } catch (JsonProcessingException | IllegalArgumentException exception) {
+            return new ImportRow<>(this.line, null, "Line could not be parsed");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    private boolean isHeader(String text){
+        return this.format == ImportFormat.CSV && this.line == 1 && String.join(",", split(text)).equalsIgnoreCase(String.join(",", this.columns));
+    }
+
+    private Map<String, String> toMap(String text){
+        List<String> values = split(text);
+        if (values.size() != this.columns.size())
+            throw new IllegalArgumentException();
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++)
+            fields.put(this.columns.get(i), values.get(i).isEmpty() ? null : values.get(i));
+        return fields;
+    }
+
+    // RFC 4180 quoting within a single line: "a, b" is one field and "" is an escaped quote
+    static List<String> split(String text){
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString().trim());
+        return values;
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.boardcamp.api.imports;
+
+public record ImportRow<T>(long line, T value, String error) {
+}
@@ -0,0 +1,78 @@
+package com.boardcamp.api.imports;
+
+import java.util.Arrays;
+
+// open addressing over a primitive long[], about 8 bytes per entry instead of ~50 for a HashSet<Long>
+public class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final double LOAD_FACTOR = 0.6;
+
+    private long[] table;
+    private boolean containsEmpty;
+    private int size;
+
+    public LongHashSet(int expectedSize){
+        this.table = new long[tableSizeFor(expectedSize)];
+    }
+
+    public boolean add(long value){
+        if (value == EMPTY) {
+            boolean added = !this.containsEmpty;
+            this.containsEmpty = true;
+            return added;
+        }
+
+        if (this.size + 1 > this.table.length * LOAD_FACTOR)
+            rehash(this.table.length * 2);
+
+        int mask = this.table.length - 1;
+        int index = mix(value) & mask;
+        while (this.table[index] != EMPTY) {
+            if (this.table[index] == value)
+                return false;
+            index = (index + 1) & mask;
+        }
+        this.table[index] = value;
+        this.size++;
+        return true;
+    }
+
+    public boolean contains(long value){
+        if (value == EMPTY)
+            return this.containsEmpty;
+
+        int mask = this.table.length - 1;
+        int index = mix(value) & mask;
+        while (this.table[index] != EMPTY) {
+            if (this.table[index] == value)
+                return true;
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size(){
+        return this.size + (this.containsEmpty ? 1 : 0);
+    }
+
+    private void rehash(int capacity){
+        long[] previous = this.table;
+        this.table = new long[capacity];
+        this.size = 0;
+        Arrays.stream(previous).filter(value -> value != EMPTY).forEach(this::add);
+    }
+
+    private static int mix(long value){
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static int tableSizeFor(int expectedSize){
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < expectedSize)
+            capacity <<= 1;
+        return capacity;
+    }
+
+}
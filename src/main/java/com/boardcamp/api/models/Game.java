@@ -1,13 +1,16 @@
 package com.boardcamp.api.models;
 
 import com.boardcamp.api.dtos.GameDTO;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -18,7 +21,8 @@ import lombok.NoArgsConstructor;
 public class Game {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_seq")
+    @SequenceGenerator(name = "game_seq", sequenceName = "game_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -33,10 +37,19 @@ public class Game {
     @Column
     private Long pricePerDay;
 
+    @Column
+    private Long unitsAvailable;
+
+    // stock is changed by guarded UPDATE statements that bump it too, so saving a stale Game fails instead of overwriting stock
+    @Version
+    @JsonIgnore
+    private Long version;
+
     public Game(GameDTO gameDTO){
         this.image = gameDTO.getImage();
         this.name = gameDTO.getName();
         this.pricePerDay = gameDTO.getPricePerDay();
         this.stockTotal = gameDTO.getStockTotal();
+        this.unitsAvailable = gameDTO.getStockTotal();
     }
 }
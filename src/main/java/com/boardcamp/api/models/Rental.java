@@ -3,16 +3,20 @@ package com.boardcamp.api.models;
 import java.time.LocalDate;
 
 import com.boardcamp.api.dtos.RentalDTO;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -20,11 +24,11 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "rentals")
 @NoArgsConstructor
-@AllArgsConstructor
 public class Rental {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rental_seq")
+    @SequenceGenerator(name = "rental_seq", sequenceName = "rental_seq", allocationSize = 50)
     private Long id;
 
     @Column
@@ -42,14 +46,31 @@ public class Rental {
     @Column
     private Long delayFee;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customerId")
     private Customer customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "gameId")
+    @JsonIgnoreProperties("unitsAvailable")
     private Game game;
 
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    public Rental(Long id, LocalDate rentDate, Long daysRented, LocalDate returnDate, Long originalPrice, Long delayFee,
+            Customer customer, Game game){
+        this.id = id;
+        this.rentDate = rentDate;
+        this.daysRented = daysRented;
+        this.returnDate = returnDate;
+        this.originalPrice = originalPrice;
+        this.delayFee = delayFee;
+        this.customer = customer;
+        this.game = game;
+    }
+
     public Rental(RentalDTO rentalDTO, Customer customer, Game game){
         this.rentDate = LocalDate.now();
         this.daysRented = rentalDTO.getDaysRented();
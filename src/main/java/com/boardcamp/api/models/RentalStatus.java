@@ -0,0 +1,17 @@
+package com.boardcamp.api.models;
+
+import com.boardcamp.api.exceptions.InvalidRentalStatusException;
+
+public enum RentalStatus {
+    OPEN,
+    CLOSED;
+
+    public static RentalStatus fromValue(String value){
+        if (value == null)
+            return null;
+        for (RentalStatus status : values())
+            if (status.name().equalsIgnoreCase(value))
+                return status;
+        throw new InvalidRentalStatusException();
+    }
+}
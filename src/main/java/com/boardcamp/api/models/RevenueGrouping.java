@@ -0,0 +1,22 @@
+package com.boardcamp.api.models;
+
+import java.util.Locale;
+
+import com.boardcamp.api.exceptions.InvalidRevenueGroupingException;
+
+public enum RevenueGrouping {
+    GAME,
+    MONTH,
+    CUSTOMER;
+
+    public String dimension(){
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static RevenueGrouping fromValue(String value){
+        for (RevenueGrouping grouping : values())
+            if (grouping.name().equalsIgnoreCase(value))
+                return grouping;
+        throw new InvalidRevenueGroupingException();
+    }
+}
@@ -0,0 +1,52 @@
+package com.boardcamp.api.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+import com.boardcamp.api.exceptions.InvalidCursorException;
+import com.boardcamp.api.exceptions.InvalidLimitException;
+
+public final class Cursor {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String SEPARATOR = ":";
+
+    private Cursor(){
+    }
+
+    public static String encode(Object... values){
+        String raw = Arrays.stream(values).map(String::valueOf).collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int parts){
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] values = raw.split(SEPARATOR, -1);
+            if (values.length != parts)
+                throw new InvalidCursorException();
+            return values;
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public static long decodeId(String cursor){
+        if (cursor == null || cursor.isEmpty())
+            return 0L;
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException exception) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public static void checkLimit(int limit){
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new InvalidLimitException();
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.boardcamp.api.projections;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// the cursor of the next page is sent in the X-Next-Cursor header, like every other page
+public record CustomerRentalHistoryView(CustomerView customer, OpenRentalsSummary openRentals, List<RentalView> rentals,
+        @JsonIgnore String nextCursor) {
+}
@@ -0,0 +1,4 @@
+package com.boardcamp.api.projections;
+
+public record CustomerView(Long id, String name, String cpf) {
+}
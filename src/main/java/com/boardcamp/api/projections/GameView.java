@@ -0,0 +1,4 @@
+package com.boardcamp.api.projections;
+
+public record GameView(Long id, String name, String image, Long stockTotal, Long pricePerDay) {
+}
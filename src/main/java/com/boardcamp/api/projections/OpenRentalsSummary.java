@@ -0,0 +1,4 @@
+package com.boardcamp.api.projections;
+
+public record OpenRentalsSummary(long count, long overdue, long projectedDelayFees) {
+}
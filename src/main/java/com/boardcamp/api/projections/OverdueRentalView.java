@@ -0,0 +1,7 @@
+package com.boardcamp.api.projections;
+
+import java.time.LocalDate;
+
+public record OverdueRentalView(Long id, LocalDate rentDate, Long daysRented, LocalDate dueDate, Long originalPrice,
+        Long daysOverdue, Long projectedDelayFee, CustomerView customer, GameView game) {
+}
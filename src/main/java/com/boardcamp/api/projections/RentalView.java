@@ -0,0 +1,17 @@
+package com.boardcamp.api.projections;
+
+import java.time.LocalDate;
+
+public record RentalView(Long id, LocalDate rentDate, Long daysRented, LocalDate returnDate, Long originalPrice, Long delayFee,
+        CustomerView customer, GameView game) {
+
+    // flat form used by JPQL constructor expressions, which cannot build nested records
+    public RentalView(Long id, LocalDate rentDate, Long daysRented, LocalDate returnDate, Long originalPrice, Long delayFee,
+            Long customerId, String customerName, String customerCpf,
+            Long gameId, String gameName, String gameImage, Long gameStockTotal, Long gamePricePerDay){
+        this(id, rentDate, daysRented, returnDate, originalPrice, delayFee,
+            new CustomerView(customerId, customerName, customerCpf),
+            new GameView(gameId, gameName, gameImage, gameStockTotal, gamePricePerDay));
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.boardcamp.api.projections;
+
+public record RevenueView(String key, long rentals, long originalPrice, long delayFee, long total) {
+}
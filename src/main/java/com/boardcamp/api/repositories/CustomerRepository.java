@@ -1,10 +1,25 @@
 package com.boardcamp.api.repositories;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.boardcamp.api.models.Customer;
 
+import jakarta.persistence.QueryHint;
+
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     boolean existsByCpf(String cpf);
+
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT c.cpf FROM Customer c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    Stream<String> streamAllCpfs();
 }
@@ -1,11 +1,28 @@
 package com.boardcamp.api.repositories;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.boardcamp.api.models.Game;
 
 @Repository
-public interface GameRepository extends JpaRepository<Game, Long> {
+public interface GameRepository extends JpaRepository<Game, Long>, GameRepositoryCustom {
     boolean existsByName(String name);
+
+    List<Game> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT g.name FROM Game g")
+    List<String> findAllNames();
+
+    @Transactional
+    @Modifying
+    @Query(value="UPDATE games SET units_available = units_available + 1, version = version + 1 WHERE id = :id AND units_available < stock_total", nativeQuery = true)
+    int releaseUnit(@Param("id") Long id);
 }
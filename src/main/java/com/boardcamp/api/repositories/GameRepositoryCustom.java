@@ -0,0 +1,12 @@
+package com.boardcamp.api.repositories;
+
+import java.util.Map;
+import java.util.Optional;
+
+import com.boardcamp.api.models.Game;
+
+public interface GameRepositoryCustom {
+    Optional<Game> reserveUnit(Long id);
+
+    int[] reserveUnits(Map<Long, Long> unitsByGameId);
+}
@@ -0,0 +1,63 @@
+package com.boardcamp.api.repositories;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import com.boardcamp.api.models.Game;
+
+public class GameRepositoryCustomImpl implements GameRepositoryCustom {
+
+    private static final String RESERVE_UNIT = "UPDATE games SET units_available = units_available - 1, version = version + 1 WHERE id = ? AND units_available > 0";
+    private static final String[] GAME_COLUMNS = { "id", "name", "image", "stock_total", "price_per_day", "units_available", "version" };
+    private static final String RESERVE_UNITS = "UPDATE games SET units_available = units_available - ?, version = version + 1 WHERE id = ? AND units_available >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    GameRepositoryCustomImpl(JdbcTemplate jdbcTemplate){
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // the reserved game comes back from the same statement as generated keys, which the PostgreSQL driver sends as
+    // RETURNING, so creating a rental does not load it again
+    @Override
+    public Optional<Game> reserveUnit(Long id){
+        KeyHolder reserved = new GeneratedKeyHolder();
+        int updated = this.jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RESERVE_UNIT, GAME_COLUMNS);
+            statement.setLong(1, id);
+            return statement;
+        }, reserved);
+        return updated == 0 ? Optional.empty() : Optional.of(game(reserved.getKeys()));
+    }
+
+    @Override
+    public int[] reserveUnits(Map<Long, Long> unitsByGameId){
+        List<Object[]> arguments = new ArrayList<>(unitsByGameId.size());
+        unitsByGameId.forEach((gameId, units) -> arguments.add(new Object[] { units, gameId, units }));
+        return this.jdbcTemplate.batchUpdate(RESERVE_UNITS, arguments);
+    }
+
+    private static Game game(Map<String, Object> row){
+        Game game = new Game();
+        game.setId(longValue(row.get("id")));
+        game.setName((String) row.get("name"));
+        game.setImage((String) row.get("image"));
+        game.setStockTotal(longValue(row.get("stock_total")));
+        game.setPricePerDay(longValue(row.get("price_per_day")));
+        game.setUnitsAvailable(longValue(row.get("units_available")));
+        game.setVersion(longValue(row.get("version")));
+        return game;
+    }
+
+    private static Long longValue(Object value){
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+}
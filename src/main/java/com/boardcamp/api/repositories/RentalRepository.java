@@ -1,14 +1,28 @@
 package com.boardcamp.api.repositories;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.boardcamp.api.models.Rental;
 
-public interface RentalRepository extends JpaRepository<Rental, Long> {
+import jakarta.persistence.QueryHint;
+
+public interface RentalRepository extends JpaRepository<Rental, Long>, RentalRepositoryCustom {
+
+    @EntityGraph(attributePaths = { "customer", "game" })
+    Optional<Rental> findById(Long id);
 
-    @Query(value="SELECT COUNT(id) FROM rentals WHERE game_Id = :gameId AND return_date IS NULL", nativeQuery = true)
-    Long countUnavailableUnits(@Param("gameId") Long gameId);
+    @Query("SELECT r FROM Rental r JOIN FETCH r.customer JOIN FETCH r.game ORDER BY r.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Rental> streamAll();
 
 }
@@ -0,0 +1,17 @@
+package com.boardcamp.api.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import com.boardcamp.api.dtos.RentalFilterDTO;
+import com.boardcamp.api.projections.CustomerRentalHistoryView;
+import com.boardcamp.api.projections.RentalView;
+
+public interface RentalRepositoryCustom {
+    List<RentalView> findViews(RentalFilterDTO filter, long after, int limit);
+
+    List<RentalView> findOverdueViews(LocalDate today, LocalDate afterDueDate, long afterId, int limit);
+
+    Optional<CustomerRentalHistoryView> findCustomerHistory(long customerId, LocalDate today, LocalDate beforeRentDate, long beforeId, int limit);
+}
@@ -0,0 +1,149 @@
+package com.boardcamp.api.repositories;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.boardcamp.api.dtos.RentalFilterDTO;
+import com.boardcamp.api.models.Customer;
+import com.boardcamp.api.models.Game;
+import com.boardcamp.api.models.Rental;
+import com.boardcamp.api.models.RentalStatus;
+import com.boardcamp.api.projections.CustomerRentalHistoryView;
+import com.boardcamp.api.projections.CustomerView;
+import com.boardcamp.api.projections.OpenRentalsSummary;
+import com.boardcamp.api.projections.RentalView;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class RentalRepositoryCustomImpl implements RentalRepositoryCustom {
+
+    // the due date expression must match rentals_overdue_idx (V2 migration) exactly for the partial index to be used
+    private static final String FIND_OVERDUE_VIEWS = """
+        SELECT r.id, r.rent_date, r.days_rented, r.return_date, r.original_price, r.delay_fee,
+               c.id AS customer_id, c.name AS customer_name, c.cpf AS customer_cpf,
+               g.id AS game_id, g.name AS game_name, g.image AS game_image, g.stock_total AS game_stock_total, g.price_per_day AS game_price_per_day
+        FROM rentals r
+        JOIN customers c ON c.id = r.customer_id
+        JOIN games g ON g.id = r.game_id
+        WHERE r.return_date IS NULL
+          AND (r.rent_date + CAST(r.days_rented AS integer)) < ?
+          AND ((r.rent_date + CAST(r.days_rented AS integer)), r.id) > (?, ?)
+        ORDER BY (r.rent_date + CAST(r.days_rented AS integer)), r.id
+        LIMIT ?
+        """;
+
+    // one round trip: the customer, the summary of their open rentals (rentals_customer_open_idx) and one page of
+    // their history newest first (rentals_customer_rent_date_idx); a customer without rentals still yields one row
+    private static final String FIND_CUSTOMER_HISTORY = """
+        WITH customer AS (
+            SELECT id, name, cpf FROM customers WHERE id = ?
+        ), summary AS (
+            SELECT COUNT(*) AS open_rentals,
+                   COUNT(*) FILTER (WHERE (r.rent_date + CAST(r.days_rented AS integer)) < ?) AS overdue_rentals,
+                   COALESCE(SUM(GREATEST(? - (r.rent_date + CAST(r.days_rented AS integer)), 0) * g.price_per_day), 0) AS projected_delay_fees
+            FROM rentals r
+            JOIN games g ON g.id = r.game_id
+            WHERE r.customer_id = ? AND r.return_date IS NULL
+        ), page AS (
+            SELECT r.id, r.rent_date, r.days_rented, r.return_date, r.original_price, r.delay_fee,
+                   g.id AS game_id, g.name AS game_name, g.image AS game_image, g.stock_total AS game_stock_total, g.price_per_day AS game_price_per_day
+            FROM rentals r
+            JOIN games g ON g.id = r.game_id
+            WHERE r.customer_id = ? AND (r.rent_date, r.id) < (?, ?)
+            ORDER BY r.rent_date DESC, r.id DESC
+            LIMIT ?
+        )
+        SELECT c.id AS customer_id, c.name AS customer_name, c.cpf AS customer_cpf,
+               s.open_rentals, s.overdue_rentals, s.projected_delay_fees, p.*
+        FROM customer c
+        CROSS JOIN summary s
+        LEFT JOIN page p ON true
+        ORDER BY p.rent_date DESC, p.id DESC
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    RentalRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager){
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    // only the filters that are set become predicates, so each combination maps onto one of the V4 indexes
+    @Override
+    public List<RentalView> findViews(RentalFilterDTO filter, long after, int limit){
+        CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<RentalView> query = builder.createQuery(RentalView.class);
+        Root<Rental> rental = query.from(Rental.class);
+        Join<Rental, Customer> customer = rental.join("customer");
+        Join<Rental, Game> game = rental.join("game");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.greaterThan(rental.<Long>get("id"), after));
+        if (filter.getCustomerId() != null)
+            predicates.add(builder.equal(customer.get("id"), filter.getCustomerId()));
+        if (filter.getGameId() != null)
+            predicates.add(builder.equal(game.get("id"), filter.getGameId()));
+        if (filter.getStatus() == RentalStatus.OPEN)
+            predicates.add(builder.isNull(rental.get("returnDate")));
+        if (filter.getStatus() == RentalStatus.CLOSED)
+            predicates.add(builder.isNotNull(rental.get("returnDate")));
+        if (filter.getStartDate() != null)
+            predicates.add(builder.greaterThanOrEqualTo(rental.<LocalDate>get("rentDate"), filter.getStartDate()));
+        if (filter.getEndDate() != null)
+            predicates.add(builder.lessThanOrEqualTo(rental.<LocalDate>get("rentDate"), filter.getEndDate()));
+
+        query.select(builder.construct(RentalView.class,
+                rental.get("id"), rental.get("rentDate"), rental.get("daysRented"), rental.get("returnDate"),
+                rental.get("originalPrice"), rental.get("delayFee"),
+                customer.get("id"), customer.get("name"), customer.get("cpf"),
+                game.get("id"), game.get("name"), game.get("image"), game.get("stockTotal"), game.get("pricePerDay")))
+            .where(predicates.toArray(Predicate[]::new))
+            .orderBy(builder.asc(rental.get("id")));
+
+        return this.entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<RentalView> findOverdueViews(LocalDate today, LocalDate afterDueDate, long afterId, int limit){
+        return this.jdbcTemplate.query(FIND_OVERDUE_VIEWS, RentalRepositoryCustomImpl::toRentalView, today, afterDueDate, afterId, limit);
+    }
+
+    @Override
+    public Optional<CustomerRentalHistoryView> findCustomerHistory(long customerId, LocalDate today, LocalDate beforeRentDate, long beforeId, int limit){
+        return this.jdbcTemplate.query(FIND_CUSTOMER_HISTORY, rows -> {
+            if (!rows.next())
+                return Optional.empty();
+
+            CustomerView customer = new CustomerView(rows.getLong("customer_id"), rows.getString("customer_name"), rows.getString("customer_cpf"));
+            OpenRentalsSummary openRentals = new OpenRentalsSummary(rows.getLong("open_rentals"), rows.getLong("overdue_rentals"),
+                rows.getLong("projected_delay_fees"));
+            List<RentalView> rentals = new ArrayList<>();
+            do {
+                if (rows.getObject("id") != null)
+                    rentals.add(toRentalView(rows, rows.getRow()));
+            } while (rows.next());
+            return Optional.of(new CustomerRentalHistoryView(customer, openRentals, rentals, null));
+        }, customerId, today, today, customerId, customerId, beforeRentDate, beforeId, limit);
+    }
+
+    private static RentalView toRentalView(ResultSet row, int rowNumber) throws SQLException {
+        return new RentalView(row.getLong("id"), row.getObject("rent_date", LocalDate.class), row.getLong("days_rented"),
+            row.getObject("return_date", LocalDate.class), row.getLong("original_price"), row.getLong("delay_fee"),
+            row.getLong("customer_id"), row.getString("customer_name"), row.getString("customer_cpf"),
+            row.getLong("game_id"), row.getString("game_name"), row.getString("game_image"),
+            row.getLong("game_stock_total"), row.getLong("game_price_per_day"));
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.boardcamp.api.repositories;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.boardcamp.api.models.Rental;
+import com.boardcamp.api.models.RevenueGrouping;
+import com.boardcamp.api.projections.RevenueView;
+
+@Repository
+public class RevenueRollupRepository {
+
+    private static final int SHARDS = 8;
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private static final String UPSERT = "INSERT INTO revenue_rollups (dimension, bucket, shard, rentals, original_price, delay_fee) VALUES ";
+    private static final String ON_CONFLICT = " ON CONFLICT (dimension, bucket, shard) DO UPDATE SET"
+        + " rentals = revenue_rollups.rentals + EXCLUDED.rentals,"
+        + " original_price = revenue_rollups.original_price + EXCLUDED.original_price,"
+        + " delay_fee = revenue_rollups.delay_fee + EXCLUDED.delay_fee";
+
+    private static final String FIND = "SELECT bucket, SUM(rentals) AS rentals, SUM(original_price) AS original_price,"
+        + " SUM(delay_fee) AS delay_fee, SUM(original_price) + SUM(delay_fee) AS total"
+        + " FROM revenue_rollups WHERE dimension = ? GROUP BY bucket ORDER BY ";
+
+    private static final String REBUILD = "INSERT INTO revenue_rollups (dimension, bucket, shard, rentals, original_price, delay_fee)"
+        + " SELECT 'game', CAST(game_id AS varchar), 0, COUNT(*), COALESCE(SUM(original_price), 0), COALESCE(SUM(delay_fee), 0)"
+        + " FROM rentals GROUP BY game_id"
+        + " UNION ALL"
+        + " SELECT 'customer', CAST(customer_id AS varchar), 0, COUNT(*), COALESCE(SUM(original_price), 0), COALESCE(SUM(delay_fee), 0)"
+        + " FROM rentals GROUP BY customer_id"
+        + " UNION ALL"
+        + " SELECT 'month', month, 0, SUM(rentals), SUM(original_price), SUM(delay_fee) FROM ("
+        + "  SELECT to_char(rent_date, 'YYYY-MM') AS month, 1 AS rentals, COALESCE(original_price, 0) AS original_price, 0 AS delay_fee"
+        + "  FROM rentals"
+        + "  UNION ALL"
+        + "  SELECT to_char(return_date, 'YYYY-MM'), 0, 0, delay_fee FROM rentals WHERE return_date IS NOT NULL AND delay_fee > 0"
+        + " ) months GROUP BY month";
+
+    private record Bucket(String dimension, String key) {}
+
+    private static final Comparator<Bucket> LOCK_ORDER = Comparator.comparing(Bucket::dimension).thenComparing(Bucket::key);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    RevenueRollupRepository(JdbcTemplate jdbcTemplate){
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // original prices count in the month the rental started
+    public void recordRentals(Collection<Rental> rentals){
+        Map<Bucket, long[]> increments = new TreeMap<>(LOCK_ORDER);
+        for (Rental rental : rentals)
+            for (Bucket bucket : buckets(rental, rental.getRentDate()))
+                add(increments, bucket, 1, rental.getOriginalPrice(), 0);
+        upsert(increments);
+    }
+
+    // delay fees count in the month the rental was returned
+    public void recordReturn(Rental rental){
+        if (rental.getDelayFee() == null || rental.getDelayFee() == 0)
+            return;
+        Map<Bucket, long[]> increments = new TreeMap<>(LOCK_ORDER);
+        for (Bucket bucket : buckets(rental, rental.getReturnDate()))
+            add(increments, bucket, 0, 0, rental.getDelayFee());
+        upsert(increments);
+    }
+
+    public List<RevenueView> find(RevenueGrouping grouping){
+        String order = grouping == RevenueGrouping.MONTH ? "bucket" : "total DESC, bucket";
+        return this.jdbcTemplate.query(FIND + order,
+            (row, number) -> new RevenueView(row.getString("bucket"), row.getLong("rentals"), row.getLong("original_price"),
+                row.getLong("delay_fee"), row.getLong("total")),
+            grouping.dimension());
+    }
+
+    // the table lock waits for writers already holding rollup rows and holds new ones back until the rebuild commits,
+    // so every rental is counted exactly once; callers must run it inside a transaction
+    public void rebuild(){
+        this.jdbcTemplate.execute("LOCK TABLE revenue_rollups IN EXCLUSIVE MODE");
+        this.jdbcTemplate.update("DELETE FROM revenue_rollups");
+        this.jdbcTemplate.update(REBUILD);
+    }
+
+    private static List<Bucket> buckets(Rental rental, LocalDate date){
+        return List.of(
+            new Bucket(RevenueGrouping.GAME.dimension(), rental.getGame().getId().toString()),
+            new Bucket(RevenueGrouping.MONTH.dimension(), MONTH.format(date)),
+            new Bucket(RevenueGrouping.CUSTOMER.dimension(), rental.getCustomer().getId().toString()));
+    }
+
+    private static void add(Map<Bucket, long[]> increments, Bucket bucket, long rentals, long originalPrice, long delayFee){
+        long[] amounts = increments.computeIfAbsent(bucket, key -> new long[3]);
+        amounts[0] += rentals;
+        amounts[1] += originalPrice;
+        amounts[2] += delayFee;
+    }
+
+    // one statement per write; rows go in a fixed order so concurrent upserts on the same shard cannot deadlock
+    private void upsert(Map<Bucket, long[]> increments){
+        if (increments.isEmpty())
+            return;
+        int shard = ThreadLocalRandom.current().nextInt(SHARDS);
+        StringJoiner rows = new StringJoiner(", ", UPSERT, ON_CONFLICT);
+        List<Object> arguments = new ArrayList<>(increments.size() * 6);
+        increments.forEach((bucket, amounts) -> {
+            rows.add("(?, ?, ?, ?, ?, ?)");
+            arguments.addAll(List.of(bucket.dimension(), bucket.key(), shard, amounts[0], amounts[1], amounts[2]));
+        });
+        this.jdbcTemplate.update(rows.toString(), arguments.toArray());
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.boardcamp.api.services;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.boardcamp.api.models.Customer;
+import com.boardcamp.api.repositories.CustomerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class CustomerCache {
+
+    private final CustomerRepository customerRepository;
+    private final Cache<Long, Customer> customers;
+
+    CustomerCache(CustomerRepository customerRepository,
+            @Value("${boardcamp.customers.cache.max-size:10000}") long maxSize,
+            @Value("${boardcamp.customers.cache.ttl:10m}") Duration ttl, MeterRegistry meterRegistry){
+        this.customerRepository = customerRepository;
+        this.customers = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.customers, "customers");
+    }
+
+    // unknown ids are not cached, so a customer created on another instance is found on the next lookup;
+    // the load runs outside Caffeine's compute lock, which would pin a virtual thread for the whole query
+    public Optional<Customer> findById(Long id){
+        Customer cached = this.customers.getIfPresent(id);
+        if (cached != null)
+            return Optional.of(cached);
+
+        Optional<Customer> customer = this.customerRepository.findById(id);
+        customer.ifPresent(found -> this.customers.put(id, found));
+        return customer;
+    }
+
+    public void invalidate(Long id){
+        this.customers.invalidate(id);
+    }
+
+    public CacheStats stats(){
+        return this.customers.stats();
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.boardcamp.api.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.api.dtos.CustomerDTO;
+import com.boardcamp.api.dtos.ImportReportDTO;
+import com.boardcamp.api.exceptions.CPFAlreadyRegisteredException;
+import com.boardcamp.api.imports.CpfIndex;
+import com.boardcamp.api.imports.ImportChunk;
+import com.boardcamp.api.imports.ImportFormat;
+import com.boardcamp.api.imports.ImportReader;
+import com.boardcamp.api.imports.ImportRow;
+import com.boardcamp.api.models.Customer;
+import com.boardcamp.api.repositories.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.annotation.Timed;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+@Timed(value = "boardcamp.service", histogram = true)
+public class CustomerImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final List<String> COLUMNS = List.of("name", "cpf");
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    CustomerImportService(CustomerRepository customerRepository, TransactionTemplate transactionTemplate, EntityManager entityManager,
+            Validator validator, ObjectMapper objectMapper){
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    public ImportReportDTO importCustomers(InputStream input, ImportFormat format) throws IOException {
+        CpfIndex cpfs = loadCpfIndex();
+        ImportReportDTO report = new ImportReportDTO();
+        ImportChunk<CustomerDTO> chunk = new ImportChunk<>(CHUNK_SIZE, this.transactionTemplate, this.entityManager,
+            this::saveChunk, report, "Customer could not be saved");
+
+        try (ImportReader<CustomerDTO> reader = new ImportReader<>(input, format, CustomerDTO.class, COLUMNS, this.objectMapper)) {
+            ImportRow<CustomerDTO> row;
+            while ((row = reader.next()) != null) {
+                String error = row.error() != null ? row.error() : validate(row.value());
+                if (error == null && !cpfs.add(row.value().getCpf()))
+                    error = new CPFAlreadyRegisteredException().getMessage();
+
+                if (error != null)
+                    report.addError(row.line(), error);
+                else
+                    chunk.add(row.line(), row.value());
+            }
+        }
+        chunk.flush();
+
+        return report;
+    }
+
+    // entities are built inside the transaction, so a chunk saved again row by row starts from fresh ones
+    private void saveChunk(List<CustomerDTO> customerDTOs){
+        this.customerRepository.saveAllAndFlush(customerDTOs.stream().map(Customer::new).toList());
+    }
+
+    private CpfIndex loadCpfIndex(){
+        CpfIndex cpfs = new CpfIndex((int) Math.min(Integer.MAX_VALUE, this.customerRepository.count()));
+        this.transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> existingCpfs = this.customerRepository.streamAllCpfs()) {
+                existingCpfs.forEach(cpfs::add);
+            }
+        });
+        return cpfs;
+    }
+
+    private String validate(CustomerDTO customerDTO){
+        Set<ConstraintViolation<CustomerDTO>> violations = this.validator.validate(customerDTO);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+}
@@ -1,22 +1,31 @@
 package com.boardcamp.api.services;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import com.boardcamp.api.dtos.CustomerDTO;
 import com.boardcamp.api.exceptions.CPFAlreadyRegisteredException;
 import com.boardcamp.api.exceptions.CustomerNotFoundException;
 import com.boardcamp.api.models.Customer;
+import com.boardcamp.api.pagination.Cursor;
+import com.boardcamp.api.pagination.CursorPage;
 import com.boardcamp.api.repositories.CustomerRepository;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
+@Timed(value = "boardcamp.service", histogram = true)
 public class CustomerService {
     
     private final CustomerRepository customerRepository;
+    private final CustomerCache customerCache;
 
-    CustomerService(CustomerRepository customerRepository){
+    CustomerService(CustomerRepository customerRepository, CustomerCache customerCache){
         this.customerRepository = customerRepository;
+        this.customerCache = customerCache;
     }
 
     public Customer postCustomer(CustomerDTO customerDTO){
@@ -28,16 +37,24 @@ public class CustomerService {
         else {
             Customer customer = new Customer(customerDTO);
 
-            return this.customerRepository.save(customer);
+            Customer savedCustomer = this.customerRepository.save(customer);
+            this.customerCache.invalidate(savedCustomer.getId());
+            return savedCustomer;
         }
     }
 
     public Customer getCustomerById(Long id){
-        Optional<Customer> customer = this.customerRepository.findById(id);
+        Optional<Customer> customer = this.customerCache.findById(id);
         if (!customer.isPresent())
             throw new CustomerNotFoundException();
         else
             return customer.get();
     }
 
+    public CursorPage<Customer> getCustomers(String after, int limit){
+        Cursor.checkLimit(limit);
+        List<Customer> customers = this.customerRepository.findByIdGreaterThanOrderByIdAsc(Cursor.decodeId(after), Limit.of(limit + 1));
+        return CursorPage.of(customers, limit, customer -> Cursor.encode(customer.getId()));
+    }
+
 }
@@ -0,0 +1,87 @@
+package com.boardcamp.api.services;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import com.boardcamp.api.models.Game;
+import com.boardcamp.api.pagination.CursorPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Component
+public class GameCatalogCache {
+
+    private static final int MAX_PAGES = 256;
+
+    private final AtomicLong generation = new AtomicLong();
+    // bounded by frequency, so a burst of one-off cursors cannot keep the first pages out
+    private final Cache<String, CatalogPage> pages = Caffeine.newBuilder().maximumSize(MAX_PAGES).build();
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+
+    GameCatalogCache(ObjectMapper objectMapper, @Value("${boardcamp.games.catalog-cache.ttl:5s}") Duration ttl){
+        this.objectMapper = objectMapper;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public record CatalogPage(long generation, long loadedAt, byte[] body, String etag, String nextCursor) {
+
+        public HttpHeaders headers(){
+            return CursorPage.headers(nextCursor);
+        }
+
+    }
+
+    // a page loaded while a change commits keeps the old generation, so it is reloaded on the next call;
+    // the TTL bounds staleness for changes made by other instances, which never reach invalidate()
+    public CatalogPage get(String after, int limit, Supplier<CursorPage<Game>> loader){
+        String key = after + ":" + limit;
+        long current = this.generation.get();
+        CatalogPage cached = this.pages.getIfPresent(key);
+        if (cached != null && cached.generation() == current && System.nanoTime() - cached.loadedAt() < this.ttlNanos)
+            return cached;
+
+        CatalogPage page = serialize(loader.get(), current);
+        this.pages.put(key, page);
+        return page;
+    }
+
+    public void invalidate(){
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit(){
+                    evictAll();
+                }
+            });
+        } else {
+            evictAll();
+        }
+    }
+
+    private void evictAll(){
+        this.generation.incrementAndGet();
+        this.pages.invalidateAll();
+    }
+
+    private CatalogPage serialize(CursorPage<Game> page, long generation){
+        try {
+            byte[] body = this.objectMapper.writeValueAsBytes(page.items());
+            return new CatalogPage(generation, System.nanoTime(), body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"", page.nextCursor());
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.boardcamp.api.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.api.dtos.GameDTO;
+import com.boardcamp.api.dtos.ImportReportDTO;
+import com.boardcamp.api.exceptions.GameAlreadyExistsException;
+import com.boardcamp.api.imports.ImportChunk;
+import com.boardcamp.api.imports.ImportFormat;
+import com.boardcamp.api.imports.ImportReader;
+import com.boardcamp.api.imports.ImportRow;
+import com.boardcamp.api.models.Game;
+import com.boardcamp.api.repositories.GameRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.annotation.Timed;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+@Timed(value = "boardcamp.service", histogram = true)
+public class GameImportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final List<String> COLUMNS = List.of("name", "image", "stockTotal", "pricePerDay");
+
+    private final GameRepository gameRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final GameCatalogCache gameCatalogCache;
+    private final GameNameIndex gameNameIndex;
+
+    GameImportService(GameRepository gameRepository, TransactionTemplate transactionTemplate, EntityManager entityManager, Validator validator,
+            ObjectMapper objectMapper, GameCatalogCache gameCatalogCache, GameNameIndex gameNameIndex){
+        this.gameRepository = gameRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.gameCatalogCache = gameCatalogCache;
+        this.gameNameIndex = gameNameIndex;
+    }
+
+    public ImportReportDTO importGames(InputStream input, ImportFormat format) throws IOException {
+        Set<String> names = new HashSet<>(this.gameRepository.findAllNames());
+        ImportReportDTO report = new ImportReportDTO();
+        ImportChunk<GameDTO> chunk = new ImportChunk<>(CHUNK_SIZE, this.transactionTemplate, this.entityManager,
+            this::saveChunk, report, "Game could not be saved");
+
+        try (ImportReader<GameDTO> reader = new ImportReader<>(input, format, GameDTO.class, COLUMNS, this.objectMapper)) {
+            ImportRow<GameDTO> row;
+            while ((row = reader.next()) != null) {
+                String error = row.error() != null ? row.error() : validate(row.value());
+                if (error == null && !names.add(row.value().getName()))
+                    error = new GameAlreadyExistsException().getMessage();
+
+                if (error != null)
+                    report.addError(row.line(), error);
+                else
+                    chunk.add(row.line(), row.value());
+            }
+        }
+        chunk.flush();
+        if (report.getImported() > 0)
+            this.gameCatalogCache.invalidate();
+
+        return report;
+    }
+
+    // entities are built inside the transaction, so a chunk saved again row by row starts from fresh ones
+    private void saveChunk(List<GameDTO> gameDTOs){
+        List<Game> games = this.gameRepository.saveAllAndFlush(gameDTOs.stream().map(Game::new).toList());
+        this.gameNameIndex.add(games);
+    }
+
+    private String validate(GameDTO gameDTO){
+        Set<ConstraintViolation<GameDTO>> violations = this.validator.validate(gameDTO);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.boardcamp.api.services;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.boardcamp.api.models.Game;
+import com.boardcamp.api.projections.GameView;
+import com.boardcamp.api.repositories.GameRepository;
+
+@Component
+public class GameNameIndex implements InitializingBean {
+
+    private static final int GRAM = 3;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final GameRepository gameRepository;
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+    private final Map<Long, GameView> views = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> idsByName = new ConcurrentSkipListMap<>();
+    private final Map<String, Posting> idsByGram = new ConcurrentHashMap<>();
+    private final Comparator<Long> nameOrder = Comparator.comparing((Long id) -> this.names.get(id)).thenComparing(Comparator.naturalOrder());
+
+    // ids containing one gram, in name order, so a search stops as soon as it has enough matches;
+    // the size is kept apart because counting a skip list walks all of it
+    private static final class Posting {
+
+        private final NavigableSet<Long> ids;
+        private final AtomicInteger size = new AtomicInteger();
+
+        Posting(Comparator<Long> order){
+            this.ids = new ConcurrentSkipListSet<>(order);
+        }
+
+        void add(Long id){
+            if (this.ids.add(id))
+                this.size.incrementAndGet();
+        }
+
+    }
+
+    GameNameIndex(GameRepository gameRepository){
+        this.gameRepository = gameRepository;
+    }
+
+    @Override
+    public void afterPropertiesSet(){
+        this.gameRepository.findAll().forEach(this::put);
+    }
+
+    // games are only searchable once their transaction commits, like the catalog cache is only evicted then
+    public void add(Collection<Game> games){
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Game> committed = List.copyOf(games);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit(){
+                    committed.forEach(GameNameIndex.this::put);
+                }
+            });
+        } else {
+            games.forEach(this::put);
+        }
+    }
+
+    // prefix matches come first, in name order, then names that only contain the query;
+    // results are served from the views kept here, so searching never touches the database
+    public List<GameView> search(String query, int limit){
+        String normalized = normalize(query);
+        if (normalized.isEmpty())
+            return List.of();
+
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Set<Long> matches : this.idsByName.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values()) {
+            for (Long id : matches) {
+                ids.add(id);
+                if (ids.size() == limit)
+                    return views(ids);
+            }
+        }
+
+        for (Long id : candidates(normalized)) {
+            if (this.names.get(id).contains(normalized) && ids.add(id) && ids.size() == limit)
+                break;
+        }
+        return views(ids);
+    }
+
+    // queries shorter than a trigram are grams themselves, so their posting holds exactly the names containing them;
+    // longer ones start from their rarest trigram and contains() checks the full query
+    private Collection<Long> candidates(String normalized){
+        int gram = Math.min(GRAM, normalized.length());
+        Posting rarest = null;
+        for (int i = 0; i + gram <= normalized.length(); i++) {
+            Posting posting = this.idsByGram.get(normalized.substring(i, i + gram));
+            if (posting == null)
+                return List.of();
+            if (rarest == null || posting.size.get() < rarest.size.get())
+                rarest = posting;
+        }
+        return rarest.ids;
+    }
+
+    private List<GameView> views(Set<Long> ids){
+        return ids.stream().map(this.views::get).toList();
+    }
+
+    private void put(Game game){
+        String name = normalize(game.getName());
+        // the name goes in first, because the postings order ids by it
+        this.names.put(game.getId(), name);
+        this.views.put(game.getId(), new GameView(game.getId(), game.getName(), game.getImage(), game.getStockTotal(), game.getPricePerDay()));
+        this.idsByName.computeIfAbsent(name, key -> ConcurrentHashMap.newKeySet()).add(game.getId());
+        for (int gram = 1; gram <= GRAM; gram++)
+            for (int i = 0; i + gram <= name.length(); i++)
+                this.idsByGram.computeIfAbsent(name.substring(i, i + gram), key -> new Posting(this.nameOrder)).add(game.getId());
+    }
+
+    static String normalize(String value){
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return SPACES.matcher(MARKS.matcher(decomposed).replaceAll("")).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -2,20 +2,32 @@ package com.boardcamp.api.services;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import com.boardcamp.api.dtos.GameDTO;
 import com.boardcamp.api.exceptions.GameAlreadyExistsException;
 import com.boardcamp.api.models.Game;
+import com.boardcamp.api.pagination.Cursor;
+import com.boardcamp.api.pagination.CursorPage;
+import com.boardcamp.api.projections.GameView;
 import com.boardcamp.api.repositories.GameRepository;
+import com.boardcamp.api.services.GameCatalogCache.CatalogPage;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = "boardcamp.service", histogram = true)
 public class GameService {
     
     private final GameRepository gameRepository;
+    private final GameCatalogCache gameCatalogCache;
+    private final GameNameIndex gameNameIndex;
 
-    GameService(GameRepository gameRepository){
+    GameService(GameRepository gameRepository, GameCatalogCache gameCatalogCache, GameNameIndex gameNameIndex){
         this.gameRepository = gameRepository;
+        this.gameCatalogCache = gameCatalogCache;
+        this.gameNameIndex = gameNameIndex;
     }
 
     public Game postGame(GameDTO gameDTO){
@@ -27,13 +39,27 @@ public class GameService {
         else {
             Game game = new Game(gameDTO);
     
-            return this.gameRepository.save(game);
+            Game savedGame = this.gameRepository.save(game);
+            this.gameCatalogCache.invalidate();
+            this.gameNameIndex.add(List.of(savedGame));
+            return savedGame;
         }
 
     }
 
-    public List<Game> getGames(){
-        return this.gameRepository.findAll();
+    public CatalogPage getGames(String after, int limit){
+        Cursor.checkLimit(limit);
+        return this.gameCatalogCache.get(after, limit, () -> loadGames(after, limit));
+    }
+
+    public List<GameView> searchGames(String name, int limit){
+        Cursor.checkLimit(limit);
+        return this.gameNameIndex.search(name, limit);
+    }
+
+    private CursorPage<Game> loadGames(String after, int limit){
+        List<Game> games = this.gameRepository.findByIdGreaterThanOrderByIdAsc(Cursor.decodeId(after), Limit.of(limit + 1));
+        return CursorPage.of(games, limit, game -> Cursor.encode(game.getId()));
     }
 
 }
@@ -0,0 +1,75 @@
+package com.boardcamp.api.services;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.api.exceptions.ConcurrentUpdateException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class OptimisticRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffNanos;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> conflicts = new ConcurrentHashMap<>();
+
+    OptimisticRetry(PlatformTransactionManager transactionManager,
+            @Value("${boardcamp.optimistic-retry.max-attempts:3}") int maxAttempts,
+            @Value("${boardcamp.optimistic-retry.backoff:10ms}") Duration backoff, MeterRegistry meterRegistry){
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffNanos = backoff.toNanos();
+        this.meterRegistry = meterRegistry;
+    }
+
+    // each attempt is its own transaction, so a retry reads the state the winning request committed;
+    // without a conflict this is exactly one transaction and no extra work
+    public <T> T execute(String operation, Supplier<T> action){
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return this.transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException exception) {
+                if (attempt == this.maxAttempts) {
+                    conflicts(operation, "exhausted").increment();
+                    throw new ConcurrentUpdateException();
+                }
+                conflicts(operation, "retried").increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    // full jitter: a random wait up to an exponentially growing bound, so requests that collided do not collide again
+    private void backoff(int attempt){
+        long bound = this.backoffNanos << (attempt - 1);
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException();
+        }
+    }
+
+    private Counter conflicts(String operation, String outcome){
+        return this.conflicts.computeIfAbsent(operation + ":" + outcome, key -> Counter.builder("boardcamp.optimistic.conflicts")
+            .description("Optimistic locking conflicts, by whether the operation was retried or gave up")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(this.meterRegistry));
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.boardcamp.api.services;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class RentalMetrics {
+
+    private final Counter created;
+    private final Counter returned;
+    private final Counter rejectedForStock;
+    private final DistributionSummary delayFees;
+
+    // meters are registered once here, so recording on the request path is a plain increment
+    RentalMetrics(MeterRegistry meterRegistry){
+        this.created = Counter.builder("boardcamp.rentals.created")
+            .description("Rentals created")
+            .register(meterRegistry);
+        this.returned = Counter.builder("boardcamp.rentals.returned")
+            .description("Rentals returned")
+            .register(meterRegistry);
+        this.rejectedForStock = Counter.builder("boardcamp.rentals.rejected")
+            .description("Rental requests rejected")
+            .tag("reason", "no_units_available")
+            .register(meterRegistry);
+        this.delayFees = DistributionSummary.builder("boardcamp.rentals.delay.fees")
+            .description("Delay fees charged on late returns")
+            .baseUnit("cents")
+            .register(meterRegistry);
+    }
+
+    public void rentalsCreated(int count){
+        this.created.increment(count);
+    }
+
+    public void rentalReturned(long delayFee){
+        this.returned.increment();
+        if (delayFee > 0)
+            this.delayFees.record(delayFee);
+    }
+
+    public void rentalRejectedForStock(){
+        this.rejectedForStock.increment();
+    }
+
+}
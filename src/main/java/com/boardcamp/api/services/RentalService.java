@@ -1,62 +1,229 @@
 package com.boardcamp.api.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.boardcamp.api.dtos.RentalDTO;
+import com.boardcamp.api.dtos.RentalFilterDTO;
 import com.boardcamp.api.exceptions.CustomerNotFoundException;
 import com.boardcamp.api.exceptions.GameNotFoundException;
+import com.boardcamp.api.exceptions.InvalidDateRangeException;
+import com.boardcamp.api.exceptions.InvalidCursorException;
 import com.boardcamp.api.exceptions.NoUnitsAvailableException;
 import com.boardcamp.api.exceptions.RentalAlreadyFinishedException;
 import com.boardcamp.api.exceptions.RentalNotFoundException;
 import com.boardcamp.api.models.Customer;
 import com.boardcamp.api.models.Game;
 import com.boardcamp.api.models.Rental;
+import com.boardcamp.api.pagination.Cursor;
+import com.boardcamp.api.pagination.CursorPage;
+import com.boardcamp.api.projections.CustomerRentalHistoryView;
+import com.boardcamp.api.projections.OverdueRentalView;
+import com.boardcamp.api.projections.RentalView;
 import com.boardcamp.api.repositories.CustomerRepository;
 import com.boardcamp.api.repositories.GameRepository;
 import com.boardcamp.api.repositories.RentalRepository;
+import com.boardcamp.api.repositories.RevenueRollupRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.micrometer.core.annotation.Timed;
+
+import jakarta.persistence.EntityManager;
 
 @Service
+@Timed(value = "boardcamp.service", histogram = true)
 public class RentalService {
 
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final LocalDate FIRST_DUE_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate LAST_RENT_DATE = LocalDate.of(9999, 12, 31);
+
     private final RentalRepository rentalRepository;
     private final CustomerRepository customerRepository;
+    private final CustomerCache customerCache;
     private final GameRepository gameRepository;
-
-    RentalService(RentalRepository rentalRepository, CustomerRepository customerRepository, GameRepository gameRepository){
+    private final GameCatalogCache gameCatalogCache;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final RentalMetrics rentalMetrics;
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final OptimisticRetry optimisticRetry;
+
+    RentalService(RentalRepository rentalRepository, CustomerRepository customerRepository, CustomerCache customerCache, GameRepository gameRepository,
+            GameCatalogCache gameCatalogCache, EntityManager entityManager, ObjectMapper objectMapper, RentalMetrics rentalMetrics,
+            RevenueRollupRepository revenueRollupRepository, OptimisticRetry optimisticRetry){
         this.rentalRepository = rentalRepository;
         this.customerRepository = customerRepository;
+        this.customerCache = customerCache;
         this.gameRepository = gameRepository;
+        this.gameCatalogCache = gameCatalogCache;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.rentalMetrics = rentalMetrics;
+        this.revenueRollupRepository = revenueRollupRepository;
+        this.optimisticRetry = optimisticRetry;
     }
 
+    @Transactional
     public Rental postRental(RentalDTO rentalDTO){
-        Optional<Customer> customer = this.customerRepository.findById(rentalDTO.getCustomerId());
+        Optional<Customer> customer = this.customerCache.findById(rentalDTO.getCustomerId());
         if(!customer.isPresent())
             throw new CustomerNotFoundException();
-        
-        Optional<Game> game = this.gameRepository.findById(rentalDTO.getGameId());
-        if(!game.isPresent())
-            throw new GameNotFoundException();
 
-        Long unavailableUnits = this.rentalRepository.countUnavailableUnits(game.get().getId());
-        if (game.get().getStockTotal() <= unavailableUnits)
+        Optional<Game> game = this.gameRepository.reserveUnit(rentalDTO.getGameId());
+        if (!game.isPresent()) {
+            if (!this.gameRepository.existsById(rentalDTO.getGameId()))
+                throw new GameNotFoundException();
+            this.rentalMetrics.rentalRejectedForStock();
             throw new NoUnitsAvailableException();
+        }
+        this.gameCatalogCache.invalidate();
 
         Rental rental = new Rental(rentalDTO, customer.get(), game.get());
 
-        return this.rentalRepository.save(rental);
+        Rental savedRental = this.rentalRepository.save(rental);
+        this.revenueRollupRepository.recordRentals(List.of(savedRental));
+        this.rentalMetrics.rentalsCreated(1);
+        return savedRental;
     }
 
 
-    public List<Rental> getRentals(){
-        return this.rentalRepository.findAll();
+    @Transactional
+    public List<Rental> postRentals(List<RentalDTO> rentalDTOs){
+        Map<Long, Customer> customers = this.customerRepository.findAllById(
+            rentalDTOs.stream().map(RentalDTO::getCustomerId).collect(Collectors.toSet()))
+            .stream().collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Map<Long, Game> games = this.gameRepository.findAllById(
+            rentalDTOs.stream().map(RentalDTO::getGameId).collect(Collectors.toSet()))
+            .stream().collect(Collectors.toMap(Game::getId, Function.identity()));
+
+        Map<Long, Long> unitsByGameId = new LinkedHashMap<>();
+        for (RentalDTO rentalDTO : rentalDTOs) {
+            if (!customers.containsKey(rentalDTO.getCustomerId()))
+                throw new CustomerNotFoundException();
+            if (!games.containsKey(rentalDTO.getGameId()))
+                throw new GameNotFoundException();
+            unitsByGameId.merge(rentalDTO.getGameId(), 1L, Long::sum);
+        }
+
+        for (int updated : this.gameRepository.reserveUnits(unitsByGameId))
+            if (updated == 0) {
+                this.rentalMetrics.rentalRejectedForStock();
+                throw new NoUnitsAvailableException();
+            }
+        this.gameCatalogCache.invalidate();
+
+        List<Rental> rentals = rentalDTOs.stream()
+            .map(rentalDTO -> new Rental(rentalDTO, customers.get(rentalDTO.getCustomerId()), games.get(rentalDTO.getGameId())))
+            .toList();
+
+        List<Rental> savedRentals = this.rentalRepository.saveAll(rentals);
+        this.revenueRollupRepository.recordRentals(savedRentals);
+        this.rentalMetrics.rentalsCreated(savedRentals.size());
+        return savedRentals;
     }
 
+    public CursorPage<RentalView> getRentals(RentalFilterDTO filter, String after, int limit){
+        Cursor.checkLimit(limit);
+        if (filter.getStartDate() != null && filter.getEndDate() != null && filter.getStartDate().isAfter(filter.getEndDate()))
+            throw new InvalidDateRangeException();
+        List<RentalView> rentals = this.rentalRepository.findViews(filter, Cursor.decodeId(after), limit + 1);
+        return CursorPage.of(rentals, limit, rental -> Cursor.encode(rental.id()));
+    }
+
+    public CursorPage<OverdueRentalView> getOverdueRentals(String after, int limit, LocalDate today){
+        Cursor.checkLimit(limit);
+        LocalDate afterDueDate = FIRST_DUE_DATE;
+        long afterId = 0L;
+        if (after != null && !after.isEmpty()) {
+            String[] values = Cursor.decode(after, 2);
+            try {
+                afterDueDate = LocalDate.parse(values[0]);
+                afterId = Long.parseLong(values[1]);
+            } catch (DateTimeParseException | NumberFormatException exception) {
+                throw new InvalidCursorException();
+            }
+        }
+
+        List<OverdueRentalView> rentals = this.rentalRepository.findOverdueViews(today, afterDueDate, afterId, limit + 1).stream()
+            .map(rental -> toOverdueView(rental, today))
+            .toList();
+        return CursorPage.of(rentals, limit, rental -> Cursor.encode(rental.dueDate(), rental.id()));
+    }
+
+    // newest first; the open rentals summary covers every open rental of the customer, not only those on the page
+    public CustomerRentalHistoryView getCustomerRentals(Long customerId, String after, int limit, LocalDate today){
+        Cursor.checkLimit(limit);
+        LocalDate beforeRentDate = LAST_RENT_DATE;
+        long beforeId = Long.MAX_VALUE;
+        if (after != null && !after.isEmpty()) {
+            String[] values = Cursor.decode(after, 2);
+            try {
+                beforeRentDate = LocalDate.parse(values[0]);
+                beforeId = Long.parseLong(values[1]);
+            } catch (DateTimeParseException | NumberFormatException exception) {
+                throw new InvalidCursorException();
+            }
+        }
+
+        Optional<CustomerRentalHistoryView> history = this.rentalRepository.findCustomerHistory(customerId, today, beforeRentDate, beforeId, limit + 1);
+        if (!history.isPresent())
+            throw new CustomerNotFoundException();
+
+        CursorPage<RentalView> rentals = CursorPage.of(history.get().rentals(), limit, rental -> Cursor.encode(rental.rentDate(), rental.id()));
+        return new CustomerRentalHistoryView(history.get().customer(), history.get().openRentals(), rentals.items(), rentals.nextCursor());
+    }
+
+    // the fee the rental would be charged if it were returned today
+    private static OverdueRentalView toOverdueView(RentalView rental, LocalDate today){
+        LocalDate dueDate = rental.rentDate().plusDays(rental.daysRented());
+        long rentalDays = ChronoUnit.DAYS.between(rental.rentDate(), today);
+        return new OverdueRentalView(rental.id(), rental.rentDate(), rental.daysRented(), dueDate, rental.originalPrice(),
+            rentalDays - rental.daysRented(), calculateDelayFee(rental.daysRented(), rentalDays, rental.game().pricePerDay()),
+            rental.customer(), rental.game());
+    }
+
+    @Transactional(readOnly = true)
+    public void exportRentals(OutputStream output) throws IOException {
+        ObjectWriter writer = this.objectMapper.writerFor(Rental.class);
+        try (Stream<Rental> rentals = this.rentalRepository.streamAll()) {
+            Iterator<Rental> iterator = rentals.iterator();
+            long written = 0;
+            while (iterator.hasNext()) {
+                output.write(writer.writeValueAsBytes(iterator.next()));
+                output.write('\n');
+                if (++written % EXPORT_BATCH_SIZE == 0) {
+                    this.entityManager.clear();
+                    output.flush();
+                }
+            }
+        }
+        output.flush();
+    }
+
+    // a concurrent return of the same rental fails on the version check and is retried, seeing the rental already finished
     public Rental finishRental(Long id, LocalDate today){
+        Rental finishedRental = this.optimisticRetry.execute("finishRental", () -> returnRental(id, today));
+        this.rentalMetrics.rentalReturned(finishedRental.getDelayFee());
+        return finishedRental;
+    }
+
+    private Rental returnRental(Long id, LocalDate today){
         Optional<Rental> rental = this.rentalRepository.findById(id);
         if(!rental.isPresent())
             throw new RentalNotFoundException();
@@ -68,13 +235,17 @@ public class RentalService {
         long rentalDays = ChronoUnit.DAYS.between(rental.get().getRentDate(), today);
         
         if (rentalDays > rental.get().getDaysRented())
-            rental.get().setDelayFee(calculateDelayFee(rental.get(), rentalDays));
+            rental.get().setDelayFee(calculateDelayFee(rental.get().getDaysRented(), rentalDays, rental.get().getGame().getPricePerDay()));
 
-        return this.rentalRepository.save(rental.get());
+        Rental finishedRental = this.rentalRepository.save(rental.get());
+        this.gameRepository.releaseUnit(finishedRental.getGame().getId());
+        this.gameCatalogCache.invalidate();
+        this.revenueRollupRepository.recordReturn(finishedRental);
+        return finishedRental;
     }
 
-    private long calculateDelayFee(Rental rental, long rentalDays){
-        return ((rentalDays - rental.getDaysRented()) * rental.getGame().getPricePerDay());
+    private static long calculateDelayFee(long daysRented, long rentalDays, long pricePerDay){
+        return ((rentalDays - daysRented) * pricePerDay);
     }
 
 }
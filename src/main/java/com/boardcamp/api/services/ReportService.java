@@ -0,0 +1,33 @@
+package com.boardcamp.api.services;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.boardcamp.api.models.RevenueGrouping;
+import com.boardcamp.api.projections.RevenueView;
+import com.boardcamp.api.repositories.RevenueRollupRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Timed(value = "boardcamp.service", histogram = true)
+public class ReportService {
+
+    private final RevenueRollupRepository revenueRollupRepository;
+
+    ReportService(RevenueRollupRepository revenueRollupRepository){
+        this.revenueRollupRepository = revenueRollupRepository;
+    }
+
+    public List<RevenueView> getRevenue(RevenueGrouping grouping){
+        return this.revenueRollupRepository.find(grouping);
+    }
+
+    @Transactional
+    public void rebuildRevenueRollups(){
+        this.revenueRollupRepository.rebuild();
+    }
+
+}
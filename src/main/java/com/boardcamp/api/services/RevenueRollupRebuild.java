@@ -0,0 +1,31 @@
+package com.boardcamp.api.services;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RevenueRollupRebuild implements ApplicationRunner {
+
+    private static final String OPTION = "rebuild-revenue-rollups";
+
+    private final ReportService reportService;
+    private final ConfigurableApplicationContext context;
+
+    RevenueRollupRebuild(ReportService reportService, ConfigurableApplicationContext context){
+        this.reportService = reportService;
+        this.context = context;
+    }
+
+    // started with --rebuild-revenue-rollups the application recomputes the rollups from every rental and exits
+    @Override
+    public void run(ApplicationArguments args){
+        if (!args.containsOption(OPTION))
+            return;
+        this.reportService.rebuildRevenueRollups();
+        System.exit(SpringApplication.exit(this.context));
+    }
+
+}
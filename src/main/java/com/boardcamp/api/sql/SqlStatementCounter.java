@@ -0,0 +1,48 @@
+package com.boardcamp.api.sql;
+
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    public static final class Counts {
+
+        private long statements;
+        private long elapsedMillis;
+
+        public long statements(){
+            return this.statements;
+        }
+
+        public long elapsedMillis(){
+            return this.elapsedMillis;
+        }
+
+    }
+
+    private SqlStatementCounter(){
+    }
+
+    static Counts begin(){
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    static void end(){
+        CURRENT.remove();
+    }
+
+    // statements run outside a counted request, e.g. at startup or on async threads, are ignored
+    static void record(long elapsedMillis){
+        Counts counts = CURRENT.get();
+        if (counts == null)
+            return;
+        counts.statements++;
+        counts.elapsedMillis += elapsedMillis;
+    }
+
+    public static Counts current(){
+        return CURRENT.get();
+    }
+
+}
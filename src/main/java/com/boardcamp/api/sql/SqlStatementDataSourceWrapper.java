@@ -0,0 +1,25 @@
+package com.boardcamp.api.sql;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+@Component
+public class SqlStatementDataSourceWrapper implements BeanPostProcessor {
+
+    // the proxy delegates unwrap(), so Hikari metrics and health checks still reach the pool
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName){
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource)
+            return bean;
+        return ProxyDataSourceBuilder.create(dataSource)
+            .name(beanName)
+            .listener(new SqlStatementListener())
+            .build();
+    }
+
+}
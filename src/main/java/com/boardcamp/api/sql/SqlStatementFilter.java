@@ -0,0 +1,67 @@
+package com.boardcamp.api.sql;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private record Meters(DistributionSummary statements, Timer time) {}
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    SqlStatementFilter(MeterRegistry meterRegistry){
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.Counts counts = SqlStatementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.end();
+            record(request, counts);
+        }
+    }
+
+    // tagged by route pattern rather than raw path, so ids do not multiply the series
+    private void record(HttpServletRequest request, SqlStatementCounter.Counts counts){
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        Meters meters = meters(request.getMethod(), uri);
+        meters.statements().record(counts.statements());
+        meters.time().record(counts.elapsedMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // built once per route, so requests do not go through the registry's lookup on the way out
+    private Meters meters(String method, String uri){
+        return this.meters.computeIfAbsent(method + " " + uri, key -> new Meters(
+            DistributionSummary.builder("boardcamp.http.sql.statements")
+                .description("SQL statements issued per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(this.meterRegistry),
+            Timer.builder("boardcamp.http.sql.time")
+                .description("Time spent in SQL statements per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(this.meterRegistry)));
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.boardcamp.api.sql;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// headers must be set before the body is written, so they cover the statements issued up to that point
+@ControllerAdvice
+@ConditionalOnProperty(name = "boardcamp.sql.statements.header", havingValue = "true")
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType){
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request, ServerHttpResponse response){
+        SqlStatementCounter.Counts counts = SqlStatementCounter.current();
+        if (counts != null) {
+            response.getHeaders().set(STATEMENTS_HEADER, String.valueOf(counts.statements()));
+            response.getHeaders().set(TIME_HEADER, String.valueOf(counts.elapsedMillis()));
+        }
+        return body;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.boardcamp.api.sql;
+
+import java.util.List;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+// one execution is one round trip to the database, so a JDBC batch counts once
+class SqlStatementListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList){
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList){
+        SqlStatementCounter.record(execInfo.getElapsedTime());
+    }
+
+}
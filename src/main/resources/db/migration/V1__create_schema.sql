@@ -0,0 +1,36 @@
+CREATE SEQUENCE customer_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE game_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE rental_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE customers (
+    id bigint NOT NULL,
+    name varchar(255) NOT NULL,
+    cpf varchar(11) NOT NULL,
+    CONSTRAINT customers_pkey PRIMARY KEY (id),
+    CONSTRAINT customers_cpf_key UNIQUE (cpf)
+);
+
+CREATE TABLE games (
+    id bigint NOT NULL,
+    name varchar(255) NOT NULL,
+    image varchar(255),
+    stock_total bigint,
+    price_per_day bigint,
+    units_available bigint,
+    CONSTRAINT games_pkey PRIMARY KEY (id),
+    CONSTRAINT games_name_key UNIQUE (name)
+);
+
+CREATE TABLE rentals (
+    id bigint NOT NULL,
+    rent_date date,
+    days_rented bigint,
+    return_date date,
+    original_price bigint,
+    delay_fee bigint,
+    customer_id bigint,
+    game_id bigint,
+    CONSTRAINT rentals_pkey PRIMARY KEY (id),
+    CONSTRAINT rentals_customer_id_fkey FOREIGN KEY (customer_id) REFERENCES customers (id),
+    CONSTRAINT rentals_game_id_fkey FOREIGN KEY (game_id) REFERENCES games (id)
+);
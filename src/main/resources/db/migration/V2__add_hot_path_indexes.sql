@@ -0,0 +1,5 @@
+-- rentals of a customer, and the foreign key check when a customer is deleted
+CREATE INDEX IF NOT EXISTS rentals_customer_id_idx ON rentals (customer_id);
+
+-- GET /rentals/overdue; the expression must match the one in RentalRepositoryCustomImpl
+CREATE INDEX IF NOT EXISTS rentals_overdue_idx ON rentals ((rent_date + CAST(days_rented AS integer)), id) WHERE return_date IS NULL;
@@ -0,0 +1,9 @@
+-- databases baselined from the schema Hibernate managed may predate units_available
+ALTER TABLE games ADD COLUMN IF NOT EXISTS units_available bigint;
+
+-- games created before units_available existed get it derived from their open rentals
+UPDATE games g
+SET units_available = COALESCE(g.stock_total, 0) - (SELECT COUNT(r.id) FROM rentals r WHERE r.game_id = g.id AND r.return_date IS NULL)
+WHERE g.units_available IS NULL;
+
+ALTER TABLE games ALTER COLUMN units_available SET NOT NULL;
@@ -0,0 +1,6 @@
+-- GET /rentals filters page by id, so each filter column is indexed together with id
+DROP INDEX IF EXISTS rentals_customer_id_idx;
+CREATE INDEX rentals_customer_id_id_idx ON rentals (customer_id, id);
+CREATE INDEX rentals_game_id_id_idx ON rentals (game_id, id);
+CREATE INDEX rentals_open_id_idx ON rentals (id) WHERE return_date IS NULL;
+CREATE INDEX rentals_rent_date_idx ON rentals (rent_date, id);
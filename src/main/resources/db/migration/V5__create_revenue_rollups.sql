@@ -0,0 +1,27 @@
+-- running revenue totals per game, customer and month; writers spread over shards so a hot bucket is not one locked row
+CREATE TABLE revenue_rollups (
+    dimension varchar(16) NOT NULL,
+    bucket varchar(32) NOT NULL,
+    shard smallint NOT NULL,
+    rentals bigint NOT NULL,
+    original_price bigint NOT NULL,
+    delay_fee bigint NOT NULL,
+    CONSTRAINT revenue_rollups_pkey PRIMARY KEY (dimension, bucket, shard)
+);
+
+-- original prices count in the month the rental started, delay fees in the month it was returned
+INSERT INTO revenue_rollups (dimension, bucket, shard, rentals, original_price, delay_fee)
+SELECT 'game', CAST(game_id AS varchar), 0, COUNT(*), COALESCE(SUM(original_price), 0), COALESCE(SUM(delay_fee), 0)
+FROM rentals GROUP BY game_id
+UNION ALL
+SELECT 'customer', CAST(customer_id AS varchar), 0, COUNT(*), COALESCE(SUM(original_price), 0), COALESCE(SUM(delay_fee), 0)
+FROM rentals GROUP BY customer_id
+UNION ALL
+SELECT 'month', month, 0, SUM(rentals), SUM(original_price), SUM(delay_fee)
+FROM (
+    SELECT to_char(rent_date, 'YYYY-MM') AS month, 1 AS rentals, COALESCE(original_price, 0) AS original_price, 0 AS delay_fee
+    FROM rentals
+    UNION ALL
+    SELECT to_char(return_date, 'YYYY-MM'), 0, 0, delay_fee
+    FROM rentals WHERE return_date IS NOT NULL AND delay_fee > 0
+) months GROUP BY month;
@@ -0,0 +1,3 @@
+-- customer history pages newest first on (rent_date, id); the open rentals summary only reads the customer's open rentals
+CREATE INDEX rentals_customer_rent_date_idx ON rentals (customer_id, rent_date, id);
+CREATE INDEX rentals_customer_open_idx ON rentals (customer_id) WHERE return_date IS NULL;
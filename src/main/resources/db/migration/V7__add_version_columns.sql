@@ -0,0 +1,3 @@
+-- optimistic locking: Hibernate checks and bumps these on every entity update
+ALTER TABLE rentals ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE games ADD COLUMN version bigint NOT NULL DEFAULT 0;
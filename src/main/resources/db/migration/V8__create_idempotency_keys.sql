@@ -0,0 +1,12 @@
+-- responses of write requests sent with an Idempotency-Key; status is null while the first request is still running
+CREATE TABLE idempotency_keys (
+    idempotency_key varchar(255) NOT NULL,
+    fingerprint varchar(64) NOT NULL,
+    status integer,
+    content_type varchar(255),
+    body bytea,
+    created_at timestamp with time zone NOT NULL DEFAULT now(),
+    CONSTRAINT idempotency_keys_pkey PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX idempotency_keys_created_at_idx ON idempotency_keys (created_at);
@@ -0,0 +1,113 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.boardcamp.api.admission.AdaptiveLimiter;
+
+class AdaptiveLimiterUnitTests {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+	@Test
+	void givenLimitInUseAndFullQueue_whenAcquiring_thenRejectWithoutWaiting() throws InterruptedException {
+		//given
+		AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 10, Duration.ofMillis(100), 0);
+		limiter.acquire(Duration.ZERO);
+		limiter.acquire(Duration.ZERO);
+
+		//when
+		long start = System.nanoTime();
+		boolean admitted = limiter.acquire(Duration.ofSeconds(10));
+
+		//then
+		assertFalse(admitted);
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+		assertEquals(2, limiter.inFlight());
+	}
+
+	@Test
+	void givenQueuedRequest_whenPermitIsReleased_thenAdmitIt() throws Exception {
+		//given
+		AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 10, Duration.ofMillis(100), 1);
+		limiter.acquire(Duration.ZERO);
+		Thread releaser = new Thread(() -> {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException exception) {
+				Thread.currentThread().interrupt();
+			}
+			limiter.release(FAST);
+		});
+		releaser.start();
+
+		//when
+		boolean admitted = limiter.acquire(Duration.ofSeconds(10));
+		releaser.join();
+
+		//then
+		assertTrue(admitted);
+		assertEquals(1, limiter.inFlight());
+	}
+
+	@Test
+	void givenSlowResponses_whenReleasing_thenCutLimitDownToMinimum() throws InterruptedException {
+		//given
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 2, 10, Duration.ofMillis(100), 0);
+
+		//when
+		for (int i = 0; i < 50; i++) {
+			limiter.acquire(Duration.ZERO);
+			limiter.release(SLOW);
+		}
+
+		//then
+		assertEquals(2, limiter.limit());
+	}
+
+	@Test
+	void givenFastResponsesAtFullLimit_whenReleasing_thenRaiseLimitAdditivelyUpToMaximum() throws InterruptedException {
+		//given
+		AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 4, Duration.ofMillis(100), 0);
+
+		//when
+		limiter.acquire(Duration.ZERO);
+		limiter.acquire(Duration.ZERO);
+		limiter.release(FAST);
+		limiter.release(FAST);
+		int afterOneWindow = limiter.limit();
+		for (int i = 0; i < 100; i++) {
+			for (int j = 0; j < limiter.limit(); j++)
+				limiter.acquire(Duration.ZERO);
+			for (int j = limiter.inFlight(); j > 0; j--)
+				limiter.release(FAST);
+		}
+
+		//then
+		assertEquals(2, afterOneWindow);
+		assertEquals(4, limiter.limit());
+	}
+
+	@Test
+	void givenIdleLimiter_whenFastResponsesArrive_thenKeepLimit() throws InterruptedException {
+		//given
+		AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 100, Duration.ofMillis(100), 0);
+
+		//when
+		for (int i = 0; i < 100; i++) {
+			limiter.acquire(Duration.ZERO);
+			limiter.release(FAST);
+		}
+
+		//then
+		assertEquals(8, limiter.limit());
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.boardcamp.api.imports.CpfIndex;
+import com.boardcamp.api.imports.LongHashSet;
+
+class CpfIndexUnitTests {
+
+	@Test
+	void givenManyValues_whenAddingToLongHashSet_thenEveryValueIsKeptOnce(){
+		//given
+		LongHashSet set = new LongHashSet(4);
+
+		//when
+		for (long value = 0; value < 10_000; value++)
+			set.add(value * 7919);
+		boolean addedAgain = set.add(7919 * 42);
+
+		//then
+		assertFalse(addedAgain);
+		assertEquals(10_000, set.size());
+		assertTrue(set.contains(0));
+		assertTrue(set.contains(7919L * 9_999));
+		assertFalse(set.contains(1));
+	}
+
+	@Test
+	void givenNumericAndNonNumericCpfs_whenAddingToIndex_thenDuplicatesAreDetected(){
+		//given
+		CpfIndex index = new CpfIndex(2);
+
+		//when
+		boolean numeric = index.add("01234567890");
+		boolean nonNumeric = index.add("xxxxxxxxxxx");
+
+		//then
+		assertTrue(numeric);
+		assertTrue(nonNumeric);
+		assertFalse(index.add("01234567890"));
+		assertFalse(index.add("xxxxxxxxxxx"));
+		assertFalse(index.contains("1234567890"));
+		assertTrue(index.contains("01234567890"));
+	}
+
+}
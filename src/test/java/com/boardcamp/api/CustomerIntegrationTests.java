@@ -1,22 +1,41 @@
 package com.boardcamp.api;
 
+import static com.boardcamp.api.SqlStatementAssertions.assertStatementsAtMost;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.boardcamp.api.dtos.CustomerDTO;
+import com.boardcamp.api.dtos.ImportErrorDTO;
+import com.boardcamp.api.dtos.ImportReportDTO;
+import com.boardcamp.api.dtos.GameDTO;
 import com.boardcamp.api.models.Customer;
+import com.boardcamp.api.models.Game;
+import com.boardcamp.api.models.Rental;
+import com.boardcamp.api.pagination.CursorPage;
+import com.boardcamp.api.projections.CustomerRentalHistoryView;
+import com.boardcamp.api.projections.OpenRentalsSummary;
 import com.boardcamp.api.repositories.CustomerRepository;
+import com.boardcamp.api.repositories.GameRepository;
 import com.boardcamp.api.repositories.RentalRepository;
+import com.boardcamp.api.services.CustomerCache;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
@@ -31,9 +50,16 @@ public class CustomerIntegrationTests {
     @Autowired
     private RentalRepository rentalRepository;
 
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private CustomerCache customerCache;
+
     @BeforeEach
     private void cleanupDatabase(){
         rentalRepository.deleteAll();
+        gameRepository.deleteAll();
         customerRepository.deleteAll();
     }
 
@@ -246,4 +272,151 @@ public class CustomerIntegrationTests {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(customer, response.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+	void givenTwoCustomers_whenGetCustomersWithLimit_thenReturnFirstPageAndCursor(){
+        //given
+        Customer john = customerRepository.save(new Customer(new CustomerDTO("John Doe", "11111111111")));
+        customerRepository.save(new Customer(new CustomerDTO("Jane Doe", "22222222222")));
+
+        //when
+        ResponseEntity<List<Customer>> response = restTemplate.exchange(
+            "/customers?limit=1", 
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<List<Customer>>() {}
+            );
+        
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(john), response.getBody());
+        assertNotNull(response.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+	void givenZeroLimit_whenGetCustomers_thenThrowError(){
+        //when
+        ResponseEntity<String> response = restTemplate.exchange(
+            "/customers?limit=0", 
+            HttpMethod.GET,
+            null,
+            String.class
+            );
+        
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Limit should be between 1 and 1000", response.getBody());
+    }
+
+    @Test
+	void givenNdjsonCustomers_whenImportingCustomers_thenImportNewCpfsAndReportConflicts(){
+        //given
+        customerRepository.save(new Customer(new CustomerDTO("John Doe", "11111111111")));
+        String ndjson = String.join("\n",
+            "{\"name\":\"Jane Doe\",\"cpf\":\"22222222222\"}",
+            "{\"name\":\"John Again\",\"cpf\":\"11111111111\"}",
+            "{\"name\":\"Jane Again\",\"cpf\":\"22222222222\"}",
+            "{\"name\":\"Short CPF\",\"cpf\":\"123\"}",
+            "{\"name\":\"Legacy\",\"cpf\":\"xxxxxxxxxxx\"}");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+
+        //when
+        ResponseEntity<ImportReportDTO> response = restTemplate.exchange(
+            "/customers/import", 
+            HttpMethod.POST,
+            new HttpEntity<>(ndjson, headers),
+            ImportReportDTO.class
+            );
+        
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, customerRepository.count());
+        assertEquals(2, response.getBody().getImported());
+        assertEquals(List.of(
+            new ImportErrorDTO(2, "The informed CPF is already registered"),
+            new ImportErrorDTO(3, "The informed CPF is already registered"),
+            new ImportErrorDTO(4, "CPF must contain 11 digits")), response.getBody().getErrors());
+    }
+
+    @Test
+	void givenRowRejectedByDatabase_whenImportingCustomers_thenReportOnlyThatRow(){
+        //given
+        String ndjson = String.join("\n",
+            "{\"name\":\"Jane Doe\",\"cpf\":\"22222222222\"}",
+            "{\"name\":\"" + "x".repeat(256) + "\",\"cpf\":\"33333333333\"}",
+            "{\"name\":\"John Doe\",\"cpf\":\"44444444444\"}");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+
+        //when
+        ResponseEntity<ImportReportDTO> response = restTemplate.exchange(
+            "/customers/import", 
+            HttpMethod.POST,
+            new HttpEntity<>(ndjson, headers),
+            ImportReportDTO.class
+            );
+        
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, customerRepository.count());
+        assertEquals(2, response.getBody().getImported());
+        assertEquals(List.of(new ImportErrorDTO(2, "Customer could not be saved")), response.getBody().getErrors());
+    }
+
+    @Test
+	void givenExistingCustomer_whenGettingCustomerTwice_thenSecondLookupIsServedFromCache(){
+        //given
+        Customer customer = customerRepository.save(new Customer(createCustomer()));
+        long hitsBefore = customerCache.stats().hitCount();
+        long missesBefore = customerCache.stats().missCount();
+
+        //when
+        ResponseEntity<Customer> first = restTemplate.getForEntity("/customers/{id}", Customer.class, customer.getId());
+        ResponseEntity<Customer> second = restTemplate.getForEntity("/customers/{id}", Customer.class, customer.getId());
+        
+        //then
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(customer, second.getBody());
+        assertEquals(missesBefore + 1, customerCache.stats().missCount());
+        assertEquals(hitsBefore + 1, customerCache.stats().hitCount());
+    }
+
+    @Test
+	void givenCustomerWithRentals_whenGettingCustomerRentals_thenPageNewestFirstWithOpenRentalsSummary(){
+        //given
+        LocalDate today = LocalDate.now();
+        Customer customer = customerRepository.save(new Customer(createCustomer()));
+        Game game = gameRepository.save(new Game(new GameDTO("name", "image", 4L, 1000L)));
+        Rental returned = rentalRepository.save(new Rental(null, today.minusDays(20), 2L, today.minusDays(18), 2000L, 0L, customer, game));
+        Rental late = rentalRepository.save(new Rental(null, today.minusDays(5), 2L, null, 2000L, 0L, customer, game));
+        Rental recent = rentalRepository.save(new Rental(null, today, 2L, null, 2000L, 0L, customer, game));
+
+        //when
+        ResponseEntity<CustomerRentalHistoryView> firstPage = restTemplate.getForEntity(
+            "/customers/{id}/rentals?limit=2", CustomerRentalHistoryView.class, customer.getId());
+        ResponseEntity<CustomerRentalHistoryView> secondPage = restTemplate.getForEntity(
+            "/customers/{id}/rentals?limit=2&after={after}", CustomerRentalHistoryView.class, customer.getId(),
+            firstPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+
+        //then
+        assertEquals(HttpStatus.OK, firstPage.getStatusCode());
+        assertEquals(customer.getId(), firstPage.getBody().customer().id());
+        assertEquals(new OpenRentalsSummary(2, 1, 3000), firstPage.getBody().openRentals());
+        assertEquals(List.of(recent.getId(), late.getId()), firstPage.getBody().rentals().stream().map(rental -> rental.id()).toList());
+        assertStatementsAtMost(1, firstPage);
+        assertEquals(new OpenRentalsSummary(2, 1, 3000), secondPage.getBody().openRentals());
+        assertEquals(List.of(returned.getId()), secondPage.getBody().rentals().stream().map(rental -> rental.id()).toList());
+        assertNull(secondPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+	void givenInvalidCustomerId_whenGettingCustomerRentals_thenThrowError(){
+        //when
+        ResponseEntity<String> response = restTemplate.getForEntity("/customers/{id}/rentals", String.class, 1L);
+
+        //then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("There is no customer with the informed id", response.getBody());
+    }
+}
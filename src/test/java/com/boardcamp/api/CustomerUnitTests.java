@@ -20,6 +20,7 @@ import com.boardcamp.api.exceptions.CPFAlreadyRegisteredException;
 import com.boardcamp.api.exceptions.CustomerNotFoundException;
 import com.boardcamp.api.models.Customer;
 import com.boardcamp.api.repositories.CustomerRepository;
+import com.boardcamp.api.services.CustomerCache;
 import com.boardcamp.api.services.CustomerService;
 
 @SpringBootTest
@@ -31,6 +32,9 @@ class CustomerUnitTests {
 	@Mock
 	private CustomerRepository customerRepository;
 
+	@Mock
+	private CustomerCache customerCache;
+
 	CustomerDTO createCustomer(){
 		String name = "John Doe";
 		String cpf = "xxxxxxxxxxx";
@@ -53,6 +57,7 @@ class CustomerUnitTests {
 		//then
 		verify(customerRepository, times(1)).existsByCpf(customerDTO.getCpf());
 		verify(customerRepository, times(1)).save(any());
+		verify(customerCache, times(1)).invalidate(any());
 		assertNotNull(customer);
 		assertEquals(newCustomer, customer);
 	}
@@ -85,13 +90,13 @@ class CustomerUnitTests {
 		CustomerDTO customerDTO = createCustomer();
 		Customer customer = new Customer(customerDTO);
 
-		doReturn(Optional.of(customer)).when(customerRepository).findById(customer.getId());
+		doReturn(Optional.of(customer)).when(customerCache).findById(customer.getId());
 
 		//when
 		Customer customerFound = customerService.getCustomerById(customer.getId());
 
 		//then
-		verify(customerRepository, times(1)).findById(any());
+		verify(customerCache, times(1)).findById(any());
 		assertNotNull(customerFound);
 		assertEquals(customer, customerFound);
 	}
@@ -103,7 +108,7 @@ class CustomerUnitTests {
 		CustomerDTO customerDTO = createCustomer();
 		Customer customer = new Customer(customerDTO);
 
-		doReturn(Optional.empty()).when(customerRepository).findById(customer.getId());
+		doReturn(Optional.empty()).when(customerCache).findById(customer.getId());
 
 		//when
 		CustomerNotFoundException exception = assertThrows(
@@ -111,7 +116,7 @@ class CustomerUnitTests {
 			() -> customerService.getCustomerById(customer.getId()));
 
 		//then
-		verify(customerRepository, times(1)).findById(any());
+		verify(customerCache, times(1)).findById(any());
 		assertNotNull(exception);
 		assertEquals("There is no customer with the informed id", exception.getMessage());
 	}
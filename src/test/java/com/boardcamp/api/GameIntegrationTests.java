@@ -1,26 +1,42 @@
 package com.boardcamp.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.boardcamp.api.dtos.GameDTO;
+import com.boardcamp.api.dtos.ImportErrorDTO;
+import com.boardcamp.api.dtos.ImportReportDTO;
 import com.boardcamp.api.models.Game;
+import com.boardcamp.api.pagination.CursorPage;
+import com.boardcamp.api.projections.GameView;
 import com.boardcamp.api.repositories.GameRepository;
 import com.boardcamp.api.repositories.RentalRepository;
+import com.boardcamp.api.services.GameNameIndex;
+
+import jakarta.persistence.EntityManager;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
@@ -35,6 +51,12 @@ public class GameIntegrationTests {
     @Autowired
     private RentalRepository rentalRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @SpyBean
+    private GameNameIndex gameNameIndex;
+
     @BeforeEach
     private void cleanupDatabase(){
         rentalRepository.deleteAll();
@@ -304,4 +326,168 @@ public class GameIntegrationTests {
         assertEquals(3, response.getBody().size());
         assertEquals(list, response.getBody());
     }
+
+    @Test
+	void givenThreeGames_whenGetGamesWithLimit_thenReturnPagesWithCursor(){
+        //given
+        Game monopoly = new Game(new GameDTO("Monopoly", "", 1L, 1000L));
+        Game chess = new Game(new GameDTO("Chess", "", 1L, 1000L));
+        Game war = new Game(new GameDTO("War", "", 1L, 1000L));
+
+        gameRepository.save(monopoly);
+        gameRepository.save(chess);
+        gameRepository.save(war);
+
+        //when
+        ResponseEntity<ArrayList<Game>> firstPage = restTemplate.exchange(
+            "/games?limit=2", 
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<ArrayList<Game>>() {}
+            );
+        String cursor = firstPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER);
+        ResponseEntity<ArrayList<Game>> secondPage = restTemplate.exchange(
+            "/games?limit=2&after=" + cursor, 
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<ArrayList<Game>>() {}
+            );
+        
+        //then
+        assertEquals(HttpStatus.OK, firstPage.getStatusCode());
+        assertEquals(List.of(monopoly, chess), firstPage.getBody());
+        assertEquals(HttpStatus.OK, secondPage.getStatusCode());
+        assertEquals(List.of(war), secondPage.getBody());
+        assertNull(secondPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+	void givenInvalidCursor_whenGetGames_thenThrowError(){
+        //when
+        ResponseEntity<String> response = restTemplate.exchange(
+            "/games?after=not-a-cursor", 
+            HttpMethod.GET,
+            null,
+            String.class
+            );
+        
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("The informed cursor is invalid", response.getBody());
+    }
+
+    @Test
+	void givenCsvCatalog_whenImportingGames_thenImportValidRowsAndReportErrors(){
+        //given
+        gameRepository.save(new Game(new GameDTO("Chess", "", 1L, 1000L)));
+        String csv = String.join("\n",
+            "name,image,stockTotal,pricePerDay",
+            "Monopoly,,3,1500",
+            "\"War, the game\",http://image,2,1000",
+            "Chess,,1,1000",
+            "Monopoly,,3,1500",
+            "Catan,,0,1000",
+            "Uno,,lots,1000");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+
+        //when
+        ResponseEntity<ImportReportDTO> response = restTemplate.exchange(
+            "/games/import", 
+            HttpMethod.POST,
+            new HttpEntity<>(csv, headers),
+            ImportReportDTO.class
+            );
+        
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, gameRepository.count());
+        assertEquals(2, response.getBody().getImported());
+        assertEquals(4, response.getBody().getFailed());
+        assertEquals(List.of(
+            new ImportErrorDTO(4, "A game with this name already exists"),
+            new ImportErrorDTO(5, "A game with this name already exists"),
+            new ImportErrorDTO(6, "Stock Total should be greater than zero"),
+            new ImportErrorDTO(7, "Line could not be parsed")), response.getBody().getErrors());
+        assertTrue(gameRepository.existsByName("War, the game"));
+    }
+
+    @Test
+	void givenCatalogLargerThanOneChunk_whenImportingGames_thenClearPersistenceContextBetweenChunks(){
+        //given
+        StringBuilder csv = new StringBuilder("name,image,stockTotal,pricePerDay");
+        for (int game = 0; game < 1001; game++)
+            csv.append("\nGame ").append(game).append(",,1,1000");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        List<Integer> managedEntities = new ArrayList<>();
+        doAnswer(invocation -> {
+            managedEntities.add(entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+            return invocation.callRealMethod();
+        }).when(gameNameIndex).add(any());
+
+        //when
+        ResponseEntity<ImportReportDTO> response = restTemplate.exchange(
+            "/games/import", 
+            HttpMethod.POST,
+            new HttpEntity<>(csv.toString(), headers),
+            ImportReportDTO.class
+            );
+        
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1001, response.getBody().getImported());
+        assertEquals(List.of(500, 500, 1), managedEntities);
+    }
+
+    @Test
+	void givenMatchingETag_whenGetGames_thenReturnNotModified(){
+        //given
+        gameRepository.save(new Game(new GameDTO("Monopoly", "", 1L, 1000L)));
+        ResponseEntity<String> firstResponse = restTemplate.exchange(
+            "/games", 
+            HttpMethod.GET,
+            null,
+            String.class
+            );
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(firstResponse.getHeaders().getETag());
+
+        //when
+        ResponseEntity<String> response = restTemplate.exchange(
+            "/games", 
+            HttpMethod.GET,
+            new HttpEntity<>(headers),
+            String.class
+            );
+        
+        //then
+        assertNotNull(firstResponse.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+	void givenCreatedGames_whenSearchingByName_thenReturnMatchesIgnoringCaseAndAccents(){
+        //given
+        restTemplate.postForEntity("/games", new GameDTO("Caça Palavras", "image", 4L, 1000L), Game.class);
+        restTemplate.postForEntity("/games", new GameDTO("Palavra Secreta", "image", 4L, 1000L), Game.class);
+        restTemplate.postForEntity("/games", new GameDTO("Detetive", "image", 4L, 1000L), Game.class);
+
+        //when
+        ResponseEntity<List<GameView>> response = restTemplate.exchange(
+            "/games?name={name}", 
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<List<GameView>>() {},
+            "PALAVRA"
+            );
+        
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().size());
+        assertEquals("Palavra Secreta", response.getBody().get(0).name());
+        assertEquals("Caça Palavras", response.getBody().get(1).name());
+    }
+
 }
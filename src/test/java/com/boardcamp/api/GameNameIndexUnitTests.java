@@ -0,0 +1,106 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.boardcamp.api.dtos.GameDTO;
+import com.boardcamp.api.models.Game;
+import com.boardcamp.api.projections.GameView;
+import com.boardcamp.api.repositories.GameRepository;
+import com.boardcamp.api.services.GameNameIndex;
+
+@SpringBootTest
+class GameNameIndexUnitTests {
+
+	@InjectMocks
+	private GameNameIndex gameNameIndex;
+
+	@Mock
+	private GameRepository gameRepository;
+
+	Game createGame(long id, String name){
+		Game game = new Game(new GameDTO(name, "image", 4L, 1000L));
+		game.setId(id);
+		return game;
+	}
+
+	List<Long> ids(List<GameView> games){
+		return games.stream().map(GameView::id).toList();
+	}
+
+	@Test
+	void givenIndexedGames_whenSearchingWithoutAccentsOrCase_thenPrefixMatchesComeBeforeSubstringMatches(){
+		//given
+		gameNameIndex.add(List.of(
+			createGame(1L, "Caça Animais"),
+			createGame(2L, "Imagem & Ação"),
+			createGame(3L, "Detetive"),
+			createGame(4L, "IMAGINARIUM")));
+
+		//when
+		List<Long> ids = ids(gameNameIndex.search("ima", 10));
+
+		//then
+		assertEquals(List.of(2L, 4L, 1L), ids);
+	}
+
+	@Test
+	void givenAccentedName_whenSearchingWithoutAccents_thenMatch(){
+		//given
+		gameNameIndex.add(List.of(
+			createGame(1L, "Caça Animais"),
+			createGame(2L, "Imagem & Ação")));
+
+		//when
+		List<Long> ids = ids(gameNameIndex.search("  IMAGEM &   ACAO", 10));
+
+		//then
+		assertEquals(List.of(2L), ids);
+	}
+
+	@Test
+	void givenIndexedGames_whenSearchingShortSubstring_thenMatchAnywhereInName(){
+		//given
+		gameNameIndex.add(List.of(
+			createGame(1L, "War"),
+			createGame(2L, "Twister"),
+			createGame(3L, "Uno")));
+
+		//when
+		List<Long> ids = ids(gameNameIndex.search("W", 10));
+
+		//then
+		assertEquals(List.of(1L, 2L), ids);
+	}
+
+	@Test
+	void givenIndexedGames_whenSearchingUnknownName_thenReturnNothing(){
+		//given
+		gameNameIndex.add(List.of(createGame(1L, "War")));
+
+		//when
+		List<Long> ids = ids(gameNameIndex.search("xadrez", 10));
+
+		//then
+		assertEquals(List.of(), ids);
+	}
+
+	@Test
+	void givenIndexedGames_whenSearching_thenReturnCatalogFieldsFromIndex(){
+		//given
+		gameNameIndex.add(List.of(createGame(1L, "War")));
+
+		//when
+		List<GameView> games = gameNameIndex.search("wa", 10);
+
+		//then
+		assertEquals(List.of(new GameView(1L, "War", "image", 4L, 1000L)), games);
+	}
+
+}
@@ -7,6 +7,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -16,7 +19,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import com.boardcamp.api.dtos.GameDTO;
 import com.boardcamp.api.exceptions.GameAlreadyExistsException;
 import com.boardcamp.api.models.Game;
+import com.boardcamp.api.projections.GameView;
 import com.boardcamp.api.repositories.GameRepository;
+import com.boardcamp.api.services.GameCatalogCache;
+import com.boardcamp.api.services.GameNameIndex;
 import com.boardcamp.api.services.GameService;
 
 @SpringBootTest
@@ -28,6 +34,12 @@ class GameUnitTests {
 	@Mock
 	private GameRepository gameRepository;
 
+	@Mock
+	private GameCatalogCache gameCatalogCache;
+
+	@Mock
+	private GameNameIndex gameNameIndex;
+
 	GameDTO createGame(){
 		String name = "name";
 		String image = "image";
@@ -52,6 +64,8 @@ class GameUnitTests {
 
 		verify(gameRepository, times(1)).existsByName("name");
 		verify(gameRepository, times(1)).save(any());
+		verify(gameCatalogCache, times(1)).invalidate();
+		verify(gameNameIndex, times(1)).add(List.of(newGame));
 		assertNotNull(game);
 		assertEquals(newGame, game);
 	}
@@ -74,7 +88,23 @@ class GameUnitTests {
 		assertEquals("A game with this name already exists", exception.getMessage());
 		verify(gameRepository, times(1)).existsByName("name");
 		verify(gameRepository, times(0)).save(any());
+		verify(gameCatalogCache, times(0)).invalidate();
+
+	}
 
+	@Test
+	void givenIndexedGames_whenSearchingGames_thenServeThemFromIndex(){
+		//given
+		List<GameView> indexed = List.of(new GameView(2L, "name", "image", 4L, 1000L));
+
+		doReturn(indexed).when(gameNameIndex).search("nam", 20);
+
+		//when
+		List<GameView> games = gameService.searchGames("nam", 20);
+
+		//then
+		assertEquals(indexed, games);
+		verifyNoInteractions(gameRepository);
 	}
 
 }
@@ -0,0 +1,74 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class MigrationIntegrationTests {
+
+    private static final String SCHEMA = "flyway_baseline";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    @AfterEach
+    private void dropSchema(){
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @Test
+	void givenSchemaManagedByHibernate_whenMigratingWithBaseline_thenAddAndBackfillUnitsAvailable() throws SQLException {
+        //given
+        jdbcTemplate.execute("CREATE SCHEMA " + SCHEMA);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setSchema(SCHEMA);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/hibernate-baseline.sql"));
+        }
+        jdbcTemplate.update("INSERT INTO " + SCHEMA + ".customers (id, cpf, name) VALUES (1, '11111111111', 'John Doe')");
+        jdbcTemplate.update("INSERT INTO " + SCHEMA + ".games (id, name, stock_total, price_per_day) VALUES (1, 'Chess', 3, 1000)");
+        jdbcTemplate.update("INSERT INTO " + SCHEMA + ".rentals (id, rent_date, days_rented, return_date, original_price, delay_fee, customer_id, game_id)"
+            + " VALUES (1, CURRENT_DATE, 2, NULL, 2000, 0, 1, 1), (2, CURRENT_DATE, 2, CURRENT_DATE, 2000, 0, 1, 1)");
+
+        //when
+        MigrateResult result = Flyway.configure()
+            .dataSource(dataSource)
+            .schemas(SCHEMA)
+            .baselineOnMigrate(true)
+            .baselineVersion("1")
+            .load()
+            .migrate();
+
+        //then
+        assertTrue(result.success);
+        assertEquals("BASELINE", jdbcTemplate.queryForObject(
+            "SELECT type FROM " + SCHEMA + ".flyway_schema_history WHERE version = '1'", String.class));
+        assertEquals(2L, jdbcTemplate.queryForObject(
+            "SELECT units_available FROM " + SCHEMA + ".games WHERE id = 1", Long.class));
+        assertEquals("NO", jdbcTemplate.queryForObject(
+            "SELECT is_nullable FROM information_schema.columns WHERE table_schema = ? AND table_name = 'games' AND column_name = 'units_available'",
+            String.class, SCHEMA));
+    }
+
+}
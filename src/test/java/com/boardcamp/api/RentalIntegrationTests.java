@@ -1,30 +1,51 @@
 package com.boardcamp.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.boardcamp.api.SqlStatementAssertions.assertStatementsAtMost;
 
 import java.time.LocalDate;
-
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.boardcamp.api.dtos.CustomerDTO;
 import com.boardcamp.api.dtos.GameDTO;
+import com.boardcamp.api.dtos.RentalBatchDTO;
 import com.boardcamp.api.dtos.RentalDTO;
+import com.boardcamp.api.idempotency.IdempotencyFilter;
 import com.boardcamp.api.models.Customer;
 import com.boardcamp.api.models.Game;
 import com.boardcamp.api.models.Rental;
+import com.boardcamp.api.projections.OverdueRentalView;
+import com.boardcamp.api.projections.RentalView;
 import com.boardcamp.api.repositories.CustomerRepository;
 import com.boardcamp.api.repositories.GameRepository;
 import com.boardcamp.api.repositories.RentalRepository;
 
+import jakarta.persistence.EntityManagerFactory;
+
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
 public class RentalIntegrationTests {
@@ -41,6 +62,9 @@ public class RentalIntegrationTests {
     @Autowired
     private RentalRepository rentalRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     private void cleanupDatabase(){
         rentalRepository.deleteAll();
@@ -93,6 +117,7 @@ public class RentalIntegrationTests {
         assertEquals(rentalDTO.getDaysRented() * game.getPricePerDay(), response.getBody().getOriginalPrice());
         assertEquals(today, response.getBody().getRentDate());
         assertEquals(null, response.getBody().getReturnDate());
+        assertEquals(game.getStockTotal() - 1, gameRepository.findById(game.getId()).get().getUnitsAvailable());
     }
 
     @Test
@@ -382,6 +407,8 @@ public class RentalIntegrationTests {
         rentalRepository.save(new Rental(new RentalDTO(customer.getId(), game.getId(), 1L), customer, game));
         rentalRepository.save(new Rental(new RentalDTO(customer.getId(), game.getId(), 1L), customer, game));
         rentalRepository.save(new Rental(new RentalDTO(customer.getId(), game.getId(), 1L), customer, game));
+        game.setUnitsAvailable(0L);
+        gameRepository.save(game);
 
         RentalDTO rentalDTO = new RentalDTO(customer.getId(), game.getId(), 2L);
 
@@ -503,4 +530,366 @@ public class RentalIntegrationTests {
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertEquals("There is no rental with the informed id", response.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+	void givenTwoRentals_whenExportingRentals_thenStreamOneJsonLinePerRental(){
+        //given
+        Customer customer = new Customer(createCustomer());
+        customerRepository.save(customer);
+        Game game = new Game(createGame());
+        gameRepository.save(game);
+        Rental first = rentalRepository.save(new Rental(new RentalDTO(customer.getId(), game.getId(), 1L), customer, game));
+        Rental second = rentalRepository.save(new Rental(new RentalDTO(customer.getId(), game.getId(), 2L), customer, game));
+
+        //when
+        ResponseEntity<String> response = restTemplate.exchange(
+            "/rentals/export", 
+            HttpMethod.GET,
+            null,
+            String.class
+            );
+        
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        String[] lines = response.getBody().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":" + first.getId() + ","));
+        assertTrue(lines[1].startsWith("{\"id\":" + second.getId() + ","));
+    }
+
+    @Test
+	void givenValidRentalBatch_whenCreatingRentals_thenRentalsAreCreated(){
+        //given
+        Customer customer = new Customer(createCustomer());
+        customerRepository.save(customer);
+        Game game = new Game(createGame());
+        gameRepository.save(game);
+
+        RentalBatchDTO rentalBatchDTO = new RentalBatchDTO(List.of(
+            new RentalDTO(customer.getId(), game.getId(), 2L),
+            new RentalDTO(customer.getId(), game.getId(), 3L)));
+
+        HttpEntity<RentalBatchDTO> body = new HttpEntity<>(rentalBatchDTO);
+
+        //when
+        ResponseEntity<List<Rental>> response = restTemplate.exchange(
+            "/rentals/batch", 
+            HttpMethod.POST,
+            body,
+            new ParameterizedTypeReference<List<Rental>>() {}
+            );
+        
+        //then
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(2, rentalRepository.count());
+        assertEquals(2, response.getBody().size());
+        assertEquals(2L, response.getBody().get(0).getDaysRented());
+        assertEquals(3L, response.getBody().get(1).getDaysRented());
+        assertEquals(game.getStockTotal() - 2, gameRepository.findById(game.getId()).get().getUnitsAvailable());
+    }
+
+    @Test
+	void givenBatchExceedingStock_whenCreatingRentals_throwErrorAndCreateNothing(){
+        //given
+        Customer customer = new Customer(createCustomer());
+        customerRepository.save(customer);
+        Game game = new Game(new GameDTO("name", "image", 1L, 1000L));
+        gameRepository.save(game);
+
+        RentalBatchDTO rentalBatchDTO = new RentalBatchDTO(List.of(
+            new RentalDTO(customer.getId(), game.getId(), 2L),
+            new RentalDTO(customer.getId(), game.getId(), 3L)));
+
+        HttpEntity<RentalBatchDTO> body = new HttpEntity<>(rentalBatchDTO);
+
+        //when
+        ResponseEntity<String> response = restTemplate.exchange(
+            "/rentals/batch", 
+            HttpMethod.POST,
+            body,
+            String.class
+            );
+        
+        //then
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals(0, rentalRepository.count());
+        assertEquals(1L, gameRepository.findById(game.getId()).get().getUnitsAvailable());
+        assertEquals("All units of this game are already rented", response.getBody());
+    }
+
+    @Test
+	void givenRentalsOfDistinctCustomersAndGames_whenGetRentals_thenIssueASingleStatement(){
+        //given
+        for (int i = 0; i < 5; i++) {
+            Customer customer = customerRepository.save(new Customer(new CustomerDTO("Customer " + i, "0000000000" + i)));
+            Game game = gameRepository.save(new Game(new GameDTO("Game " + i, "image", 4L, 1000L)));
+            rentalRepository.save(new Rental(new RentalDTO(customer.getId(), game.getId(), 1L), customer, game));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        ResponseEntity<List<RentalView>> response = restTemplate.exchange(
+            "/rentals", 
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<List<RentalView>>() {}
+            );
+        
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(5, response.getBody().size());
+        assertEquals("Customer 4", response.getBody().get(4).customer().name());
+        assertEquals("Game 4", response.getBody().get(4).game().name());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertStatementsAtMost(1, response);
+    }
+
+    @Test
+	void givenCreatedRental_whenScrapingMetrics_thenBusinessAndServiceMetricsAreExposed(){
+        //given
+        Customer customer = customerRepository.save(new Customer(createCustomer()));
+        Game game = gameRepository.save(new Game(createGame()));
+        restTemplate.postForEntity("/rentals", new RentalDTO(customer.getId(), game.getId(), 2L), Rental.class);
+
+        //when
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("boardcamp_rentals_created_total"));
+        assertTrue(response.getBody().contains("boardcamp_service_seconds_bucket"));
+        assertTrue(response.getBody().contains("method=\"postRental\""));
+        assertTrue(response.getBody().contains("hikaricp_connections_acquire_seconds"));
+        assertTrue(response.getBody().contains("cache=\"customers\""));
+    }
+
+    @Test
+	void givenValidRentalData_whenCreatingRental_thenIssueAtMostFiveStatements(){
+        //given
+        Customer customer = customerRepository.save(new Customer(createCustomer()));
+        Game game = gameRepository.save(new Game(createGame()));
+
+        //when
+        ResponseEntity<Rental> response = restTemplate.postForEntity(
+            "/rentals",
+            new RentalDTO(customer.getId(), game.getId(), 2L),
+            Rental.class
+            );
+        
+        //then
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        // customer lookup, stock reservation returning the game, sequence, insert and revenue rollup
+        assertStatementsAtMost(5, response);
+    }
+
+    @Test
+	void givenValidRental_whenFinishingRental_thenIssueAtMostThreeStatements(){
+        //given
+        Customer customer = customerRepository.save(new Customer(createCustomer()));
+        Game game = gameRepository.save(new Game(createGame()));
+        Rental rental = rentalRepository.save(new Rental(new RentalDTO(customer.getId(), game.getId(), 2L), customer, game));
+
+        //when
+        ResponseEntity<Rental> response = restTemplate.exchange(
+            "/rentals/{id}/return", 
+            HttpMethod.PUT,
+            null,
+            Rental.class,
+            rental.getId()
+            );
+        
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        // rental with its customer and game, the update and the stock release
+        assertStatementsAtMost(3, response);
+    }
+
+    @Test
+	void givenOpenLateAndReturnedRentals_whenGetOverdueRentals_thenReturnOnlyOpenLateOnesWithProjectedFee(){
+        //given
+        Customer customer = customerRepository.save(new Customer(createCustomer()));
+        Game game = gameRepository.save(new Game(createGame()));
+        LocalDate today = LocalDate.now();
+        Rental late = rentalRepository.save(new Rental(null, today.minusDays(5), 2L, null, 2000L, 0L, customer, game));
+        rentalRepository.save(new Rental(null, today.minusDays(2), 2L, null, 2000L, 0L, customer, game));
+        rentalRepository.save(new Rental(null, today.minusDays(9), 2L, today.minusDays(1), 2000L, 6000L, customer, game));
+
+        //when
+        ResponseEntity<List<OverdueRentalView>> response = restTemplate.exchange(
+            "/rentals/overdue", 
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<List<OverdueRentalView>>() {}
+            );
+        
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals(late.getId(), response.getBody().get(0).id());
+        assertEquals(today.minusDays(3), response.getBody().get(0).dueDate());
+        assertEquals(3L, response.getBody().get(0).daysOverdue());
+        assertEquals(3L * game.getPricePerDay(), response.getBody().get(0).projectedDelayFee());
+        assertStatementsAtMost(1, response);
+    }
+
+    @Test
+	void givenRentalsOfSeveralCustomersAndGames_whenGetRentalsWithFilters_thenReturnOnlyMatchingRentals(){
+        //given
+        LocalDate today = LocalDate.now();
+        Customer customer = customerRepository.save(new Customer(createCustomer()));
+        Customer otherCustomer = customerRepository.save(new Customer(new CustomerDTO("Jane Doe", "00000000001")));
+        Game game = gameRepository.save(new Game(createGame()));
+        Game otherGame = gameRepository.save(new Game(new GameDTO("other", "image", 4L, 1000L)));
+        Rental expected = rentalRepository.save(new Rental(null, today.minusDays(2), 3L, null, 3000L, 0L, customer, game));
+        rentalRepository.save(new Rental(null, today.minusDays(2), 3L, today, 3000L, 0L, customer, game));
+        rentalRepository.save(new Rental(null, today.minusDays(10), 3L, null, 3000L, 0L, customer, game));
+        rentalRepository.save(new Rental(null, today.minusDays(2), 3L, null, 3000L, 0L, otherCustomer, game));
+        rentalRepository.save(new Rental(null, today.minusDays(2), 3L, null, 3000L, 0L, customer, otherGame));
+
+        //when
+        ResponseEntity<List<RentalView>> response = restTemplate.exchange(
+            "/rentals?customerId={customerId}&gameId={gameId}&status=open&startDate={startDate}&endDate={endDate}", 
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<List<RentalView>>() {},
+            customer.getId(), game.getId(), today.minusDays(5), today
+            );
+        
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals(expected.getId(), response.getBody().get(0).id());
+        assertStatementsAtMost(1, response);
+    }
+
+    @Test
+	void givenUnknownStatus_whenGetRentals_thenThrowError(){
+        //given
+        String status = "late";
+
+        //when
+        ResponseEntity<String> response = restTemplate.exchange(
+            "/rentals?status={status}", 
+            HttpMethod.GET,
+            null,
+            String.class,
+            status
+            );
+        
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Status should be open or closed", response.getBody());
+    }
+
+    @Test
+	void givenConcurrentReturnsOfSameRental_whenFinishingRental_thenOnlyOneSucceedsAndStockIsReleasedOnce() throws Exception {
+        //given
+        Customer customer = customerRepository.save(new Customer(createCustomer()));
+        Game game = gameRepository.save(new Game(createGame()));
+        Rental rental = restTemplate.postForEntity("/rentals", new RentalDTO(customer.getId(), game.getId(), 2L), Rental.class).getBody();
+        int returns = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(returns);
+
+        //when
+        List<CompletableFuture<ResponseEntity<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < returns; i++)
+            responses.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException exception) {
+                    throw new IllegalStateException(exception);
+                }
+                return restTemplate.exchange("/rentals/{id}/return", HttpMethod.PUT, null, String.class, rental.getId());
+            }, executor));
+        start.countDown();
+        List<HttpStatusCode> statuses = responses.stream().map(response -> response.join().getStatusCode()).toList();
+        executor.shutdown();
+
+        //then
+        assertEquals(1, statuses.stream().filter(status -> status.equals(HttpStatus.OK)).count());
+        assertTrue(statuses.stream().allMatch(status -> status.equals(HttpStatus.OK)
+            || status.equals(HttpStatus.UNPROCESSABLE_ENTITY) || status.equals(HttpStatus.CONFLICT)));
+        assertEquals(game.getStockTotal(), gameRepository.findById(game.getId()).get().getUnitsAvailable());
+    }
+
+    HttpHeaders idempotencyKey(String key){
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(IdempotencyFilter.KEY_HEADER, key);
+        return headers;
+    }
+
+    @Test
+	void givenRepeatedIdempotencyKey_whenCreatingRental_thenReplayFirstResponseWithoutCreatingAnotherRental(){
+        //given
+        Customer customer = customerRepository.save(new Customer(createCustomer()));
+        Game game = gameRepository.save(new Game(createGame()));
+        HttpEntity<RentalDTO> body = new HttpEntity<>(new RentalDTO(customer.getId(), game.getId(), 2L), idempotencyKey(UUID.randomUUID().toString()));
+        ResponseEntity<Rental> first = restTemplate.exchange("/rentals", HttpMethod.POST, body, Rental.class);
+
+        //when
+        ResponseEntity<Rental> retry = restTemplate.exchange("/rentals", HttpMethod.POST, body, Rental.class);
+
+        //then
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(first.getBody().getId(), retry.getBody().getId());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1, rentalRepository.count());
+        assertEquals(game.getStockTotal() - 1, gameRepository.findById(game.getId()).get().getUnitsAvailable());
+    }
+
+    @Test
+	void givenIdempotencyKeyUsedForAnotherRental_whenCreatingRental_thenThrowError(){
+        //given
+        Customer customer = customerRepository.save(new Customer(createCustomer()));
+        Game game = gameRepository.save(new Game(createGame()));
+        String key = UUID.randomUUID().toString();
+        restTemplate.exchange("/rentals", HttpMethod.POST,
+            new HttpEntity<>(new RentalDTO(customer.getId(), game.getId(), 2L), idempotencyKey(key)), Rental.class);
+
+        //when
+        ResponseEntity<String> response = restTemplate.exchange("/rentals", HttpMethod.POST,
+            new HttpEntity<>(new RentalDTO(customer.getId(), game.getId(), 5L), idempotencyKey(key)), String.class);
+
+        //then
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals("This Idempotency-Key was already used for a different request", response.getBody());
+        assertEquals(1, rentalRepository.count());
+    }
+
+    @Test
+	void givenIdempotencyKeyAndOversizedBody_whenCreatingRental_thenThrowError(){
+        //given
+        HttpHeaders headers = idempotencyKey(UUID.randomUUID().toString());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String body = "{\"customerId\": 1, \"gameId\": 1, \"daysRented\": 2, \"padding\": \"" + "x".repeat(70 * 1024) + "\"}";
+
+        //when
+        ResponseEntity<String> response = restTemplate.exchange("/rentals", HttpMethod.POST, new HttpEntity<>(body, headers), String.class);
+
+        //then
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+        assertEquals(0, rentalRepository.count());
+    }
+
+    @Test
+	void givenRepeatedIdempotencyKey_whenFinishingRental_thenReplayFirstResponse(){
+        //given
+        Customer customer = customerRepository.save(new Customer(createCustomer()));
+        Game game = gameRepository.save(new Game(createGame()));
+        Rental rental = rentalRepository.save(new Rental(new RentalDTO(customer.getId(), game.getId(), 2L), customer, game));
+        HttpEntity<Void> request = new HttpEntity<>(idempotencyKey(UUID.randomUUID().toString()));
+        restTemplate.exchange("/rentals/{id}/return", HttpMethod.PUT, request, Rental.class, rental.getId());
+
+        //when
+        ResponseEntity<Rental> retry = restTemplate.exchange("/rentals/{id}/return", HttpMethod.PUT, request, Rental.class, rental.getId());
+
+        //then
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+        assertEquals(LocalDate.now(), retry.getBody().getReturnDate());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER));
+    }
+}
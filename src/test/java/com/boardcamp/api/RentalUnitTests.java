@@ -4,13 +4,20 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -19,17 +26,32 @@ import org.springframework.boot.test.context.SpringBootTest;
 import com.boardcamp.api.dtos.CustomerDTO;
 import com.boardcamp.api.dtos.GameDTO;
 import com.boardcamp.api.dtos.RentalDTO;
+import com.boardcamp.api.dtos.RentalFilterDTO;
 import com.boardcamp.api.exceptions.CustomerNotFoundException;
 import com.boardcamp.api.exceptions.GameNotFoundException;
+import com.boardcamp.api.exceptions.InvalidDateRangeException;
+import com.boardcamp.api.exceptions.InvalidCursorException;
 import com.boardcamp.api.exceptions.NoUnitsAvailableException;
 import com.boardcamp.api.exceptions.RentalAlreadyFinishedException;
 import com.boardcamp.api.exceptions.RentalNotFoundException;
 import com.boardcamp.api.models.Customer;
 import com.boardcamp.api.models.Game;
 import com.boardcamp.api.models.Rental;
+import com.boardcamp.api.pagination.Cursor;
+import com.boardcamp.api.pagination.CursorPage;
+import com.boardcamp.api.projections.CustomerRentalHistoryView;
+import com.boardcamp.api.projections.CustomerView;
+import com.boardcamp.api.projections.OpenRentalsSummary;
+import com.boardcamp.api.projections.OverdueRentalView;
+import com.boardcamp.api.projections.RentalView;
 import com.boardcamp.api.repositories.CustomerRepository;
 import com.boardcamp.api.repositories.GameRepository;
 import com.boardcamp.api.repositories.RentalRepository;
+import com.boardcamp.api.repositories.RevenueRollupRepository;
+import com.boardcamp.api.services.CustomerCache;
+import com.boardcamp.api.services.GameCatalogCache;
+import com.boardcamp.api.services.OptimisticRetry;
+import com.boardcamp.api.services.RentalMetrics;
 import com.boardcamp.api.services.RentalService;
 
 @SpringBootTest
@@ -41,12 +63,32 @@ class RentalUnitTests {
 	@Mock
 	private CustomerRepository customerRepository;
 
+	@Mock
+	private CustomerCache customerCache;
+
 	@Mock
 	private GameRepository gameRepository;
 
 	@Mock
 	private RentalRepository rentalRepository;
 
+	@Mock
+	private GameCatalogCache gameCatalogCache;
+
+	@Mock
+	private RentalMetrics rentalMetrics;
+
+	@Mock
+	private RevenueRollupRepository revenueRollupRepository;
+
+	@Mock
+	private OptimisticRetry optimisticRetry;
+
+	@BeforeEach
+	void runRetriedActionsOnce(){
+		doAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get()).when(optimisticRetry).execute(any(), any());
+	}
+
 	CustomerDTO createCustomer(){
 		String name = "John Doe";
 		String cpf = "xxxxxxxxxxx";
@@ -78,19 +120,20 @@ class RentalUnitTests {
 		RentalDTO rentalDTO = createRental();
 		Rental newRental = new Rental(rentalDTO, customer, game);
 
-		doReturn(Optional.of(customer)).when(customerRepository).findById(any());
-		doReturn(Optional.of(game)).when(gameRepository).findById(any());
-		doReturn(1L).when(rentalRepository).countUnavailableUnits(any());
+		doReturn(Optional.of(customer)).when(customerCache).findById(any());
+		doReturn(Optional.of(game)).when(gameRepository).reserveUnit(any());
 		doReturn(newRental).when(rentalRepository).save(newRental);
 
 		//when
 		Rental rental = rentalService.postRental(rentalDTO);
 
 		//then
-		verify(customerRepository, times(1)).findById(any());
-		verify(gameRepository, times(1)).findById(any());
-		verify(rentalRepository, times(1)).countUnavailableUnits(any());
+		verify(customerCache, times(1)).findById(any());
+		verify(gameRepository, times(1)).reserveUnit(any());
+		verify(gameRepository, times(0)).findById(any());
 		verify(rentalRepository, times(1)).save(newRental);
+		verify(revenueRollupRepository, times(1)).recordRentals(List.of(newRental));
+		verify(rentalMetrics, times(1)).rentalsCreated(1);
 		assertNotNull(rental);
 		assertEquals(newRental, rental);
 	}
@@ -103,9 +146,8 @@ class RentalUnitTests {
 		RentalDTO rentalDTO = createRental();
 		Rental newRental = new Rental(rentalDTO, customer, game);
 
-		doReturn(Optional.empty()).when(customerRepository).findById(any());
-		doReturn(Optional.of(game)).when(gameRepository).findById(any());
-		doReturn(1L).when(rentalRepository).countUnavailableUnits(any());
+		doReturn(Optional.empty()).when(customerCache).findById(any());
+		doReturn(Optional.of(game)).when(gameRepository).reserveUnit(any());
 		doReturn(newRental).when(rentalRepository).save(newRental);
 
 		//when
@@ -116,9 +158,9 @@ class RentalUnitTests {
 		//then
 		assertNotNull(exception);
 		assertEquals("There is no customer with the informed id", exception.getMessage());
-		verify(customerRepository, times(1)).findById(any());
+		verify(customerCache, times(1)).findById(any());
+		verify(gameRepository, times(0)).reserveUnit(any());
 		verify(gameRepository, times(0)).findById(any());
-		verify(rentalRepository, times(0)).countUnavailableUnits(any());
 		verify(rentalRepository, times(0)).save(any());
 	}
 
@@ -130,9 +172,9 @@ class RentalUnitTests {
 		RentalDTO rentalDTO = createRental();
 		Rental newRental = new Rental(rentalDTO, customer, game);
 
-		doReturn(Optional.of(customer)).when(customerRepository).findById(any());
-		doReturn(Optional.empty()).when(gameRepository).findById(any());
-		doReturn(1L).when(rentalRepository).countUnavailableUnits(any());
+		doReturn(Optional.of(customer)).when(customerCache).findById(any());
+		doReturn(Optional.empty()).when(gameRepository).reserveUnit(any());
+		doReturn(false).when(gameRepository).existsById(any());
 		doReturn(newRental).when(rentalRepository).save(newRental);
 
 		//when
@@ -143,9 +185,10 @@ class RentalUnitTests {
 		//then
 		assertNotNull(exception);
 		assertEquals("There is no game with the informed id", exception.getMessage());
-		verify(customerRepository, times(1)).findById(any());
-		verify(gameRepository, times(1)).findById(any());
-		verify(rentalRepository, times(0)).countUnavailableUnits(any());
+		verify(customerCache, times(1)).findById(any());
+		verify(gameRepository, times(1)).reserveUnit(any());
+		verify(gameRepository, times(1)).existsById(any());
+		verify(gameRepository, times(0)).findById(any());
 		verify(rentalRepository, times(0)).save(any());
 	}
 
@@ -157,9 +200,9 @@ class RentalUnitTests {
 		RentalDTO rentalDTO = createRental();
 		Rental newRental = new Rental(rentalDTO, customer, game);
 
-		doReturn(Optional.of(customer)).when(customerRepository).findById(any());
-		doReturn(Optional.of(game)).when(gameRepository).findById(any());
-		doReturn(game.getStockTotal()).when(rentalRepository).countUnavailableUnits(any());
+		doReturn(Optional.of(customer)).when(customerCache).findById(any());
+		doReturn(Optional.empty()).when(gameRepository).reserveUnit(any());
+		doReturn(true).when(gameRepository).existsById(any());
 		doReturn(newRental).when(rentalRepository).save(newRental);
 
 		//when
@@ -170,10 +213,11 @@ class RentalUnitTests {
 		//then
 		assertNotNull(exception);
 		assertEquals("All units of this game are already rented", exception.getMessage());
-		verify(customerRepository, times(1)).findById(any());
-		verify(gameRepository, times(1)).findById(any());
-		verify(rentalRepository, times(1)).countUnavailableUnits(any());
+		verify(customerCache, times(1)).findById(any());
+		verify(gameRepository, times(1)).reserveUnit(any());
+		verify(gameRepository, times(0)).findById(any());
 		verify(rentalRepository, times(0)).save(any());
+		verify(rentalMetrics, times(1)).rentalRejectedForStock();
 	}
 
 	@Test
@@ -199,6 +243,7 @@ class RentalUnitTests {
 		assertEquals(finishedRental, rental);
 		assertEquals(0, rental.getDelayFee());
 		assertEquals(finishDate, rental.getReturnDate());
+		verify(gameRepository, times(1)).releaseUnit(any());
 	}
 
 	@Test
@@ -224,6 +269,9 @@ class RentalUnitTests {
 		assertEquals(finishedRental, rental);
 		assertEquals(3000, rental.getDelayFee());
 		assertEquals(finishDate, rental.getReturnDate());
+		verify(optimisticRetry, times(1)).execute(eq("finishRental"), any());
+		verify(revenueRollupRepository, times(1)).recordReturn(finishedRental);
+		verify(rentalMetrics, times(1)).rentalReturned(3000L);
 	}
 
 	@Test
@@ -276,4 +324,97 @@ class RentalUnitTests {
 		verify(rentalRepository, times(0)).save(any());
 	}
 
-}
\ No newline at end of file
+	@Test
+	void givenOverdueRentals_whenGettingOverdueRentals_thenProjectDelayFeeAndPointCursorToLastDueDate(){
+		//given
+		LocalDate today = LocalDate.now();
+		RentalView lateRental = new RentalView(1L, today.minusDays(5), 2L, null, 2000L, 0L,
+			1L, "John Doe", "xxxxxxxxxxx", 2L, "name", "image", 4L, 1000L);
+		RentalView laterRental = new RentalView(2L, today.minusDays(3), 2L, null, 2000L, 0L,
+			1L, "John Doe", "xxxxxxxxxxx", 2L, "name", "image", 4L, 1000L);
+
+		doReturn(List.of(lateRental, laterRental)).when(rentalRepository).findOverdueViews(today, LocalDate.of(1, 1, 1), 0L, 2);
+
+		//when
+		CursorPage<OverdueRentalView> rentals = rentalService.getOverdueRentals(null, 1, today);
+
+		//then
+		assertEquals(1, rentals.items().size());
+		assertEquals(today.minusDays(3), rentals.items().get(0).dueDate());
+		assertEquals(3L, rentals.items().get(0).daysOverdue());
+		assertEquals(3000L, rentals.items().get(0).projectedDelayFee());
+		assertEquals(Cursor.encode(today.minusDays(3), 1L), rentals.nextCursor());
+	}
+
+	@Test
+	void givenMalformedCursor_whenGettingOverdueRentals_thenThrowError(){
+		//given
+		String after = Cursor.encode("yesterday", 1L);
+
+		//when
+		InvalidCursorException exception = assertThrows(
+			InvalidCursorException.class,
+			() -> rentalService.getOverdueRentals(after, 10, LocalDate.now()));
+
+		//then
+		assertNotNull(exception);
+		verify(rentalRepository, times(0)).findOverdueViews(any(), any(), anyLong(), anyInt());
+	}
+
+	@Test
+	void givenStartDateAfterEndDate_whenGettingRentals_thenThrowError(){
+		//given
+		LocalDate today = LocalDate.now();
+		RentalFilterDTO filter = new RentalFilterDTO(null, null, null, today, today.minusDays(1));
+
+		//when
+		InvalidDateRangeException exception = assertThrows(
+			InvalidDateRangeException.class,
+			() -> rentalService.getRentals(filter, null, 10));
+
+		//then
+		assertNotNull(exception);
+		assertEquals("Start date should not be after end date", exception.getMessage());
+		verify(rentalRepository, times(0)).findViews(any(), anyLong(), anyInt());
+	}
+
+	@Test
+	void givenCustomerWithMoreRentalsThanLimit_whenGettingCustomerRentals_thenPointCursorToOldestRentalOnPage(){
+		//given
+		LocalDate today = LocalDate.now();
+		CustomerView customer = new CustomerView(1L, "John Doe", "xxxxxxxxxxx");
+		OpenRentalsSummary openRentals = new OpenRentalsSummary(2L, 1L, 3000L);
+		RentalView newRental = new RentalView(2L, today, 2L, null, 2000L, 0L,
+			1L, "John Doe", "xxxxxxxxxxx", 2L, "name", "image", 4L, 1000L);
+		RentalView oldRental = new RentalView(1L, today.minusDays(5), 2L, null, 2000L, 0L,
+			1L, "John Doe", "xxxxxxxxxxx", 2L, "name", "image", 4L, 1000L);
+
+		doReturn(Optional.of(new CustomerRentalHistoryView(customer, openRentals, List.of(newRental, oldRental), null)))
+			.when(rentalRepository).findCustomerHistory(1L, today, LocalDate.of(9999, 12, 31), Long.MAX_VALUE, 2);
+
+		//when
+		CustomerRentalHistoryView history = rentalService.getCustomerRentals(1L, null, 1, today);
+
+		//then
+		assertEquals(customer, history.customer());
+		assertEquals(openRentals, history.openRentals());
+		assertEquals(List.of(newRental), history.rentals());
+		assertEquals(Cursor.encode(today, 2L), history.nextCursor());
+	}
+
+	@Test
+	void givenInvalidCustomerId_whenGettingCustomerRentals_thenThrowError(){
+		//given
+		doReturn(Optional.empty()).when(rentalRepository).findCustomerHistory(anyLong(), any(), any(), anyLong(), anyInt());
+
+		//when
+		CustomerNotFoundException exception = assertThrows(
+			CustomerNotFoundException.class,
+			() -> rentalService.getCustomerRentals(1L, null, 10, LocalDate.now()));
+
+		//then
+		assertNotNull(exception);
+		assertEquals("There is no customer with the informed id", exception.getMessage());
+	}
+
+}
@@ -0,0 +1,142 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.boardcamp.api.dtos.CustomerDTO;
+import com.boardcamp.api.dtos.GameDTO;
+import com.boardcamp.api.dtos.RentalDTO;
+import com.boardcamp.api.models.Customer;
+import com.boardcamp.api.models.Game;
+import com.boardcamp.api.models.Rental;
+import com.boardcamp.api.projections.RevenueView;
+import com.boardcamp.api.repositories.CustomerRepository;
+import com.boardcamp.api.repositories.GameRepository;
+import com.boardcamp.api.repositories.RentalRepository;
+import com.boardcamp.api.services.ReportService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class ReportIntegrationTests {
+
+    private static final ParameterizedTypeReference<List<RevenueView>> REVENUE = new ParameterizedTypeReference<List<RevenueView>>() {};
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private ReportService reportService;
+
+    @BeforeEach
+    private void cleanupDatabase(){
+        rentalRepository.deleteAll();
+        gameRepository.deleteAll();
+        customerRepository.deleteAll();
+        reportService.rebuildRevenueRollups();
+    }
+
+    GameDTO createGame(){
+		String name = "name";
+		String image = "image";
+		Long stockTotal = 4L;
+		Long pricePerDay = 1000L;
+		return new GameDTO(name, image, stockTotal, pricePerDay);
+	}
+
+    CustomerDTO createCustomer(){
+		String name = "John Doe";
+		String cpf = "xxxxxxxxxxx";
+		return new CustomerDTO(name, cpf);
+	}
+
+    @Test
+	void givenCreatedRentals_whenGetRevenueByGameAndMonth_thenReturnRunningTotals(){
+        //given
+        Customer customer = customerRepository.save(new Customer(createCustomer()));
+        Game game = gameRepository.save(new Game(createGame()));
+        restTemplate.postForEntity("/rentals", new RentalDTO(customer.getId(), game.getId(), 2L), Rental.class);
+        restTemplate.postForEntity("/rentals", new RentalDTO(customer.getId(), game.getId(), 3L), Rental.class);
+
+        //when
+        ResponseEntity<List<RevenueView>> byGame = restTemplate.exchange(
+            "/reports/revenue?groupBy=game",
+            HttpMethod.GET,
+            null,
+            REVENUE
+            );
+        ResponseEntity<List<RevenueView>> byMonth = restTemplate.exchange(
+            "/reports/revenue?groupBy=month",
+            HttpMethod.GET,
+            null,
+            REVENUE
+            );
+
+        //then
+        assertEquals(HttpStatus.OK, byGame.getStatusCode());
+        assertEquals(List.of(new RevenueView(game.getId().toString(), 2, 5000, 0, 5000)), byGame.getBody());
+        assertEquals(HttpStatus.OK, byMonth.getStatusCode());
+        String month = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM"));
+        assertEquals(List.of(new RevenueView(month, 2, 5000, 0, 5000)), byMonth.getBody());
+    }
+
+    @Test
+	void givenRentalMissingFromRollupsReturnedLate_whenRebuildingRollups_thenCountItsPriceAndDelayFeeOnce(){
+        //given
+        Customer customer = customerRepository.save(new Customer(createCustomer()));
+        Game game = gameRepository.save(new Game(createGame()));
+        Rental rental = rentalRepository.save(new Rental(null, LocalDate.now().minusDays(5), 2L, null, 2000L, 0L, customer, game));
+        restTemplate.exchange("/rentals/{id}/return", HttpMethod.PUT, null, Rental.class, rental.getId());
+
+        //when
+        reportService.rebuildRevenueRollups();
+        ResponseEntity<List<RevenueView>> response = restTemplate.exchange(
+            "/reports/revenue?groupBy=customer",
+            HttpMethod.GET,
+            null,
+            REVENUE
+            );
+
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(new RevenueView(customer.getId().toString(), 1, 2000, 3000, 5000)), response.getBody());
+    }
+
+    @Test
+	void givenInvalidGrouping_whenGetRevenue_thenThrowError(){
+        //when
+        ResponseEntity<String> response = restTemplate.exchange(
+            "/reports/revenue?groupBy=year",
+            HttpMethod.GET,
+            null,
+            String.class
+            );
+
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("groupBy should be game, month or customer", response.getBody());
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.springframework.http.ResponseEntity;
+
+import com.boardcamp.api.sql.SqlStatementHeaderAdvice;
+
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions(){
+    }
+
+    public static long statementsOf(ResponseEntity<?> response){
+        String statements = response.getHeaders().getFirst(SqlStatementHeaderAdvice.STATEMENTS_HEADER);
+        assertNotNull(statements, "Response has no " + SqlStatementHeaderAdvice.STATEMENTS_HEADER + " header; is boardcamp.sql.statements.header on?");
+        return Long.parseLong(statements);
+    }
+
+    public static void assertStatementsAtMost(long max, ResponseEntity<?> response){
+        long statements = statementsOf(response);
+        assertTrue(statements <= max, "Expected at most " + max + " SQL statements but the request issued " + statements);
+    }
+
+}
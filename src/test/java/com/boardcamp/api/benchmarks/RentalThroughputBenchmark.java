@@ -0,0 +1,159 @@
+package com.boardcamp.api.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.boardcamp.api.ApiApplication;
+import com.boardcamp.api.dtos.CustomerDTO;
+import com.boardcamp.api.dtos.GameDTO;
+import com.boardcamp.api.models.Customer;
+import com.boardcamp.api.models.Game;
+import com.boardcamp.api.repositories.CustomerRepository;
+import com.boardcamp.api.repositories.GameRepository;
+
+/**
+ * Boots the application once per thread mode against the database configured in .env and drives
+ * POST /rentals from a fixed number of concurrent clients, printing throughput and latency percentiles.
+ *
+ * mvn -Pbenchmark test-compile exec:java -Dbenchmark.concurrency=400 -Dbenchmark.duration=30s
+ */
+public class RentalThroughputBenchmark {
+
+    private static final int CUSTOMERS = 100;
+    private static final int GAMES = 20;
+
+    record Result(String mode, long requests, long errors, double seconds, long[] latenciesNanos) {
+
+        double throughput(){
+            return this.requests / this.seconds;
+        }
+
+        double percentileMillis(double percentile){
+            if (this.latenciesNanos.length == 0)
+                return 0;
+            int index = (int) Math.ceil(percentile / 100 * this.latenciesNanos.length) - 1;
+            return this.latenciesNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("benchmark.concurrency", 400);
+        Duration warmup = DurationStyle.detectAndParse(System.getProperty("benchmark.warmup", "10s"));
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("benchmark.duration", "30s"));
+        // off by default: the admission limits would cap both modes and turn the difference into 503s
+        boolean admissionControl = Boolean.getBoolean("benchmark.admission-control");
+
+        if (Runtime.version().feature() < 21)
+            System.out.println("Virtual threads need JDK 21 or newer; the virtual mode will fall back to platform threads");
+
+        List<Result> results = List.of(
+            run("platform", false, admissionControl, concurrency, warmup, duration),
+            run("virtual", true, admissionControl, concurrency, warmup, duration));
+
+        System.out.printf("%nPOST /rentals, %d concurrent clients, %s%n", concurrency, duration);
+        System.out.printf("%-10s %12s %10s %10s %10s %10s%n", "mode", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "errors");
+        for (Result result : results)
+            System.out.printf("%-10s %12.1f %10.2f %10.2f %10.2f %10d%n", result.mode(), result.throughput(),
+                result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(99.9), result.errors());
+    }
+
+    static Result run(String mode, boolean virtualThreads, boolean admissionControl, int concurrency, Duration warmup, Duration duration)
+            throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ApiApplication.class)
+            .run("--server.port=0", "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--boardcamp.admission.enabled=" + admissionControl, "--logging.level.root=WARN");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<String> bodies = seed(context, mode);
+            drive(mode, port, bodies, concurrency, warmup);
+            return drive(mode, port, bodies, concurrency, duration);
+        } finally {
+            context.close();
+        }
+    }
+
+    static List<String> seed(ConfigurableApplicationContext context, String mode){
+        CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+        GameRepository gameRepository = context.getBean(GameRepository.class);
+        long run = System.currentTimeMillis() % 100_000_000L;
+
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++)
+            customers.add(new Customer(new CustomerDTO("Benchmark " + i, String.format("%011d", run * 1000 + i))));
+        customerRepository.saveAll(customers);
+
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < GAMES; i++)
+            games.add(new Game(new GameDTO("Benchmark " + mode + " " + run + " " + i, null, 10_000_000L, 1000L)));
+        gameRepository.saveAll(games);
+
+        List<String> bodies = new ArrayList<>();
+        for (Customer customer : customers)
+            for (Game game : games)
+                bodies.add("{\"customerId\":" + customer.getId() + ",\"gameId\":" + game.getId() + ",\"daysRented\":3}");
+        return bodies;
+    }
+
+    static Result drive(String mode, int port, List<String> bodies, int concurrency, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI uri = URI.create("http://localhost:" + port + "/rentals");
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> futures = new ArrayList<>();
+        long[] errors = new long[concurrency];
+        for (int c = 0; c < concurrency; c++) {
+            int client_ = c;
+            futures.add(clients.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    String body = bodies.get(ThreadLocalRandom.current().nextInt(bodies.size()));
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                    long sent = System.nanoTime();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 201)
+                        errors[client_]++;
+                    if (count == latencies.length)
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    latencies[count++] = System.nanoTime() - sent;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        long[] all = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        clients.shutdown();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(all);
+        return new Result(mode, all.length, Arrays.stream(errors).sum(), seconds, all);
+    }
+
+}
@@ -0,0 +1,36 @@
+-- the schema ddl-auto=update created before Flyway owned it, before games had units_available
+CREATE SEQUENCE customer_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE game_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE rental_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE customers (
+    id bigint NOT NULL,
+    cpf varchar(11) NOT NULL,
+    name varchar(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_customers_cpf UNIQUE (cpf)
+);
+
+CREATE TABLE games (
+    id bigint NOT NULL,
+    image varchar(255),
+    name varchar(255) NOT NULL,
+    price_per_day bigint,
+    stock_total bigint,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_games_name UNIQUE (name)
+);
+
+CREATE TABLE rentals (
+    id bigint NOT NULL,
+    days_rented bigint,
+    delay_fee bigint,
+    original_price bigint,
+    rent_date date,
+    return_date date,
+    customer_id bigint,
+    game_id bigint,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_rentals_customer FOREIGN KEY (customer_id) REFERENCES customers (id),
+    CONSTRAINT fk_rentals_game FOREIGN KEY (game_id) REFERENCES games (id)
+);